@@ -0,0 +1,22 @@
+package com.rabbani.xls.benchmark;
+
+import com.rabbani.xls.annotation.Deserialize;
+import com.rabbani.xls.annotation.Serialize;
+import com.rabbani.xls.annotation.Xls;
+
+import java.time.LocalDate;
+
+@Xls(columns = {"code", "issued", "due", "amount"})
+public class ConvertedRecord {
+    public String code;
+
+    @Serialize(value = LocalDateConverter.class, param = "yyyy-MM-dd")
+    @Deserialize(value = LocalDateConverter.class, param = "yyyy-MM-dd")
+    public LocalDate issued;
+
+    @Serialize(value = LocalDateConverter.class, param = "yyyy-MM-dd")
+    @Deserialize(value = LocalDateConverter.class, param = "yyyy-MM-dd")
+    public LocalDate due;
+
+    public double amount;
+}
@@ -0,0 +1,55 @@
+package com.rabbani.xls.benchmark;
+
+import com.rabbani.xls.engine.Mapper;
+import com.rabbani.xls.engine.MapperService;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+final class Fixtures {
+
+    private Fixtures() {
+    }
+
+    @SuppressWarnings("unchecked")
+    static Mapper<Object> mapper(Shape shape) {
+        return (Mapper<Object>) MapperService.getInstance().getMapper(shape.type);
+    }
+
+    static List<Object> records(Shape shape, int rows) {
+        List<Object> records = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            records.add(shape.create(i));
+        }
+        return records;
+    }
+
+    static byte[] workbook(Shape shape, int rows) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        mapper(shape).writeAll(outputStream, records(shape, rows), shape.columns());
+        return outputStream.toByteArray();
+    }
+
+    static XSSFWorkbook open(byte[] workbook) throws IOException {
+        return new XSSFWorkbook(new ByteArrayInputStream(workbook));
+    }
+
+    static final class NullOutputStream extends OutputStream {
+        long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
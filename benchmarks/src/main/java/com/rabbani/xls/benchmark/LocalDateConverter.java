@@ -0,0 +1,30 @@
+package com.rabbani.xls.benchmark;
+
+import com.rabbani.xls.engine.Deserializer;
+import com.rabbani.xls.engine.Serializer;
+import org.apache.poi.ss.usermodel.Cell;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+public class LocalDateConverter implements Serializer<LocalDate>, Deserializer<LocalDate> {
+
+    private final DateTimeFormatter formatter;
+
+    public LocalDateConverter(String pattern) {
+        formatter = DateTimeFormatter.ofPattern(pattern);
+    }
+
+    @Override
+    public void serialize(LocalDate value, Cell cell) {
+        if (value != null) {
+            cell.setCellValue(formatter.format(value));
+        }
+    }
+
+    @Override
+    public LocalDate deserialize(Cell cell) {
+        String text = cell == null ? null : cell.getStringCellValue();
+        return text == null || text.isEmpty() ? null : LocalDate.parse(text, formatter);
+    }
+}
@@ -0,0 +1,13 @@
+package com.rabbani.xls.benchmark;
+
+import com.rabbani.xls.annotation.Xls;
+
+@Xls(columns = {"code", "amount", "quantity", "active", "reference", "description"})
+public class NarrowRecord {
+    public String code;
+    public double amount;
+    public int quantity;
+    public boolean active;
+    public Long reference;
+    public String description;
+}
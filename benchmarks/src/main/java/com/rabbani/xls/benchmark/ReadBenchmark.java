@@ -0,0 +1,85 @@
+package com.rabbani.xls.benchmark;
+
+import com.rabbani.xls.engine.Mapper;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReadBenchmark {
+
+    @Param({"NARROW", "WIDE", "CONVERTED"})
+    public Shape shape;
+
+    @Param({"1000", "50000"})
+    public int rows;
+
+    private Mapper<Object> mapper;
+
+    private byte[] workbook;
+
+    private XSSFWorkbook xssfWorkbook;
+
+    private Sheet sheet;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        mapper = Fixtures.mapper(shape);
+        workbook = Fixtures.workbook(shape, rows);
+        xssfWorkbook = Fixtures.open(workbook);
+        sheet = xssfWorkbook.getSheetAt(0);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        xssfWorkbook.close();
+    }
+
+    @Benchmark
+    public void preSorted(Blackhole blackhole) {
+        read(mapper.mapper(), blackhole);
+    }
+
+    @Benchmark
+    public void headerResolved(Blackhole blackhole) {
+        read(mapper.mapper(sheet.getRow(0)), blackhole);
+    }
+
+    @Benchmark
+    public void reusedInstance(Blackhole blackhole) {
+        Mapper.Instance<Object> instance = mapper.mapper(sheet.getRow(0));
+        Object value = null;
+        for (int i = 1, last = sheet.getLastRowNum(); i <= last; i++) {
+            value = instance.read(sheet.getRow(i), value, null);
+            blackhole.consume(value);
+        }
+    }
+
+    @Benchmark
+    public void columnBatch(Blackhole blackhole) {
+        mapper.readBatch(sheet, 1024, blackhole::consume);
+    }
+
+    @Benchmark
+    public void streaming(Blackhole blackhole) throws IOException {
+        mapper.stream(new ByteArrayInputStream(workbook), blackhole::consume);
+    }
+
+    private void read(Mapper.Instance<Object> instance, Blackhole blackhole) {
+        for (int i = 1, last = sheet.getLastRowNum(); i <= last; i++) {
+            Row row = sheet.getRow(i);
+            blackhole.consume(instance.read(row, null));
+        }
+    }
+}
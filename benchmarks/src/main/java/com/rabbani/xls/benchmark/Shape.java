@@ -0,0 +1,70 @@
+package com.rabbani.xls.benchmark;
+
+import com.rabbani.xls.annotation.Xls;
+
+import java.time.LocalDate;
+
+public enum Shape {
+    NARROW(NarrowRecord.class) {
+        @Override
+        Object create(int index) {
+            NarrowRecord record = new NarrowRecord();
+            record.code = "C" + (index % 500);
+            record.amount = index * 1.25;
+            record.quantity = index % 1000;
+            record.active = index % 3 == 0;
+            record.reference = index % 10 == 0 ? null : (long) index * 31;
+            record.description = "description " + index;
+            return record;
+        }
+    },
+    WIDE(WideRecord.class) {
+        @Override
+        Object create(int index) {
+            WideRecord record = new WideRecord();
+            try {
+                for (java.lang.reflect.Field field : WideRecord.class.getFields()) {
+                    Class<?> type = field.getType();
+                    int seed = index + field.getName().hashCode();
+                    if (type == String.class) {
+                        field.set(record, "value-" + (seed % 200));
+                    } else if (type == double.class) {
+                        field.setDouble(record, seed / 7.0);
+                    } else if (type == int.class) {
+                        field.setInt(record, seed);
+                    } else if (type == boolean.class) {
+                        field.setBoolean(record, (seed & 1) == 0);
+                    } else if (type == Long.class) {
+                        field.set(record, (long) seed);
+                    }
+                }
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            }
+            return record;
+        }
+    },
+    CONVERTED(ConvertedRecord.class) {
+        @Override
+        Object create(int index) {
+            ConvertedRecord record = new ConvertedRecord();
+            record.code = "C" + index;
+            record.issued = LocalDate.of(2020, 1, 1).plusDays(index % 1000);
+            record.due = record.issued.plusDays(30);
+            record.amount = index * 0.5;
+            return record;
+        }
+    };
+
+    final Class<?> type;
+
+    Shape(Class<?> type) {
+        this.type = type;
+    }
+
+    abstract Object create(int index);
+
+    String[] columns() {
+        return type.getAnnotation(Xls.class).columns();
+    }
+}
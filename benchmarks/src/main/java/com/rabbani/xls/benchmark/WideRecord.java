@@ -0,0 +1,47 @@
+package com.rabbani.xls.benchmark;
+
+import com.rabbani.xls.annotation.Xls;
+
+@Xls(columns = {"text0", "text1", "text2", "text3", "text4", "text5", "text6", "text7", "text8", "text9", "number0", "number1", "number2", "number3", "number4", "number5", "number6", "number7", "number8", "number9", "count0", "count1", "count2", "count3", "count4", "count5", "count6", "count7", "count8", "count9", "flag0", "flag1", "flag2", "flag3", "flag4", "id0", "id1", "id2", "id3", "id4"})
+public class WideRecord {
+    public String text0;
+    public String text1;
+    public String text2;
+    public String text3;
+    public String text4;
+    public String text5;
+    public String text6;
+    public String text7;
+    public String text8;
+    public String text9;
+    public double number0;
+    public double number1;
+    public double number2;
+    public double number3;
+    public double number4;
+    public double number5;
+    public double number6;
+    public double number7;
+    public double number8;
+    public double number9;
+    public int count0;
+    public int count1;
+    public int count2;
+    public int count3;
+    public int count4;
+    public int count5;
+    public int count6;
+    public int count7;
+    public int count8;
+    public int count9;
+    public boolean flag0;
+    public boolean flag1;
+    public boolean flag2;
+    public boolean flag3;
+    public boolean flag4;
+    public Long id0;
+    public Long id1;
+    public Long id2;
+    public Long id3;
+    public Long id4;
+}
@@ -0,0 +1,61 @@
+package com.rabbani.xls.benchmark;
+
+import com.rabbani.xls.engine.CellStyles;
+import com.rabbani.xls.engine.Mapper;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WriteBenchmark {
+
+    @Param({"NARROW", "WIDE", "CONVERTED"})
+    public Shape shape;
+
+    @Param({"1000", "50000"})
+    public int rows;
+
+    private Mapper<Object> mapper;
+
+    private List<Object> records;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        mapper = Fixtures.mapper(shape);
+        records = Fixtures.records(shape, rows);
+    }
+
+    @Benchmark
+    public int writeRows() throws IOException {
+        SXSSFWorkbook workbook = new SXSSFWorkbook(null, Mapper.DEFAULT_ROW_WINDOW, false);
+        try {
+            Sheet sheet = workbook.createSheet();
+            Mapper.Instance<Object> instance = mapper.mapper();
+            CellStyles cellStyles = CellStyles.of(workbook);
+            int rowIndex = 0;
+            for (Object record : records) {
+                instance.write(sheet.createRow(rowIndex++), record, cellStyles, null);
+            }
+            return rowIndex;
+        } finally {
+            workbook.dispose();
+            workbook.close();
+        }
+    }
+
+    @Benchmark
+    public long writeAll() throws IOException {
+        Fixtures.NullOutputStream outputStream = new Fixtures.NullOutputStream();
+        mapper.writeAll(outputStream, records, shape.columns());
+        return outputStream.count;
+    }
+}
@@ -13,6 +13,8 @@ public @interface Deserialize {
 
     String param() default "";
 
+    boolean threadSafe() default true;
+
     Class<? extends Deserializer> value();
 
 }
@@ -0,0 +1,14 @@
+package com.rabbani.xls.annotation;
+
+import com.rabbani.xls.util.StringPool;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Intern {
+    int value() default StringPool.DEFAULT_CAPACITY;
+}
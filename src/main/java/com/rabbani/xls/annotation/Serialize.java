@@ -13,6 +13,10 @@ public @interface Serialize {
 
     String param() default "";
 
-    Class<? extends Serializer> value();
+    boolean threadSafe() default true;
+
+    String format() default "";
+
+    Class<? extends Serializer> value() default Serializer.class;
 
 }
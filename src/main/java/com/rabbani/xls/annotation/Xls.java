@@ -11,4 +11,8 @@ public @interface Xls {
     boolean caseSensitive() default true;
 
     String[] columns() default {};
+
+    boolean intern() default false;
+
+    boolean lazyView() default false;
 }
@@ -0,0 +1,24 @@
+package com.rabbani.xls.engine;
+
+import com.rabbani.xls.util.NumberUtils;
+
+public class CellParseException extends NumberFormatException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int status;
+
+    public CellParseException(String columnName, int status) {
+        super(columnName + ": " + NumberUtils.describe(status));
+        this.status = status;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
@@ -0,0 +1,175 @@
+package com.rabbani.xls.engine;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Font;
+import org.apache.poi.ss.usermodel.HorizontalAlignment;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.WeakHashMap;
+
+public final class CellStyles {
+
+    private static final Map<Workbook, CellStyles> REGISTRY = new WeakHashMap<>();
+
+    private final WeakReference<Workbook> workbook;
+
+    // only style indexes are kept, CellStyle and DataFormat instances hold the workbook reachable
+
+    private final Map<String, Integer> formats = new HashMap<>();
+
+    private final Map<StyleKey, Integer> styles = new HashMap<>();
+
+    // set on a local view only, which holds resolved styles strongly and lives no longer than one write call
+
+    private final CellStyles shared;
+
+    private final Map<String, CellStyle> resolved;
+
+    private CellStyles(Workbook workbook) {
+        this.workbook = new WeakReference<>(workbook);
+        this.shared = null;
+        this.resolved = null;
+    }
+
+    private CellStyles(CellStyles shared) {
+        this.workbook = shared.workbook;
+        this.shared = shared;
+        this.resolved = new HashMap<>();
+    }
+
+    public static CellStyles of(Workbook workbook) {
+        synchronized (REGISTRY) {
+            return REGISTRY.computeIfAbsent(workbook, CellStyles::new);
+        }
+    }
+
+    public static CellStyles of(Row row) {
+        Sheet sheet = row.getSheet();
+        return sheet != null ? of(sheet.getWorkbook()) : null;
+    }
+
+    public static CellStyles of(Cell cell) {
+        Sheet sheet = cell.getSheet();
+        return sheet != null ? of(sheet.getWorkbook()) : null;
+    }
+
+    public static void applyFormat(Cell cell, String format) {
+        CellStyles cellStyles = of(cell);
+        if (cellStyles != null) {
+            cell.setCellStyle(cellStyles.get(format));
+        }
+    }
+
+    // a view for one writing thread, each format goes through the lock once and is then answered from the view
+    public CellStyles local() {
+        return shared != null ? this : new CellStyles(this);
+    }
+
+    public CellStyle get(String format) {
+        if (shared == null) {
+            return lookup(format);
+        }
+        CellStyle style = resolved.get(format);
+        if (style == null) {
+            style = shared.lookup(format);
+            resolved.put(format, style);
+        }
+        return style;
+    }
+
+    public CellStyle get(String format, Font font, HorizontalAlignment alignment) {
+        return shared != null ? shared.lookup(format, font, alignment) : lookup(format, font, alignment);
+    }
+
+    public int size() {
+        return shared != null ? shared.sizeOf() : sizeOf();
+    }
+
+    private synchronized CellStyle lookup(String format) {
+        Workbook workbook = workbook();
+        Integer index = formats.get(format);
+        if (index != null) {
+            return workbook.getCellStyleAt(index);
+        }
+        CellStyle style = create(workbook, format, null, null);
+        formats.put(format, style.getIndex() & 0xFFFF);
+        return style;
+    }
+
+    private synchronized CellStyle lookup(String format, Font font, HorizontalAlignment alignment) {
+        if (font == null && alignment == null && format != null) {
+            return lookup(format);
+        }
+        Workbook workbook = workbook();
+        StyleKey key = new StyleKey(format, font != null ? font.getIndex() & 0xFFFF : -1, alignment);
+        Integer index = styles.get(key);
+        if (index != null) {
+            return workbook.getCellStyleAt(index);
+        }
+        CellStyle style = create(workbook, format, font, alignment);
+        styles.put(key, style.getIndex() & 0xFFFF);
+        return style;
+    }
+
+    private synchronized int sizeOf() {
+        return formats.size() + styles.size();
+    }
+
+    private Workbook workbook() {
+        Workbook workbook = this.workbook.get();
+        if (workbook == null) {
+            throw new IllegalStateException("workbook has been released");
+        }
+        return workbook;
+    }
+
+    private CellStyle create(Workbook workbook, String format, Font font, HorizontalAlignment alignment) {
+        CellStyle style = workbook.createCellStyle();
+        if (format != null) {
+            style.setDataFormat(workbook.createDataFormat().getFormat(format));
+        }
+        if (font != null) {
+            style.setFont(font);
+        }
+        if (alignment != null) {
+            style.setAlignment(alignment);
+        }
+        return style;
+    }
+
+    private static final class StyleKey {
+        final String format;
+        final int font;
+        final HorizontalAlignment alignment;
+
+        StyleKey(String format, int font, HorizontalAlignment alignment) {
+            this.format = format;
+            this.font = font;
+            this.alignment = alignment;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof StyleKey)) {
+                return false;
+            }
+            StyleKey other = (StyleKey) o;
+            return font == other.font && alignment == other.alignment && Objects.equals(format, other.format);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(format, font, alignment);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.rabbani.xls.engine;
+
+import org.apache.poi.ss.usermodel.Row;
+
+public abstract class ColumnBatch<T> {
+
+    protected final int capacity;
+
+    protected int size;
+
+    protected ColumnBatch(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+    }
+
+    public final int size() {
+        return size;
+    }
+
+    public final int capacity() {
+        return capacity;
+    }
+
+    public final boolean isFull() {
+        return size == capacity;
+    }
+
+    public final void clear() {
+        reset();
+        size = 0;
+    }
+
+    final void add(Row row, int[] columnSlots, ErrorHandler errorHandler) {
+        if (size == capacity) {
+            throw new IllegalStateException("batch is full");
+        }
+        read(row, columnSlots, size, errorHandler);
+        size++;
+    }
+
+    protected static long[] newBitmap(int capacity) {
+        return new long[(capacity + 63) >>> 6];
+    }
+
+    public static boolean isNull(long[] nulls, int index) {
+        return (nulls[index >>> 6] & (1L << index)) != 0;
+    }
+
+    protected abstract void reset();
+
+    protected abstract void read(Row row, int[] columnSlots, int index, ErrorHandler errorHandler);
+}
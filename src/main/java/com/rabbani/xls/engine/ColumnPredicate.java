@@ -0,0 +1,135 @@
+package com.rabbani.xls.engine;
+
+import com.rabbani.xls.util.NumberUtils;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.util.NumberToTextConverter;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Predicate;
+
+public abstract class ColumnPredicate {
+
+    public static ColumnPredicate eq(String column, String value) {
+        return in(column, value);
+    }
+
+    public static ColumnPredicate eq(String column, double value) {
+        return between(column, value, value);
+    }
+
+    public static ColumnPredicate in(String column, String... values) {
+        Set<String> accepted = new HashSet<>(Arrays.asList(values));
+        return new ColumnCondition(column) {
+            @Override
+            boolean matches(Cell cell) {
+                return accepted.contains(textOf(cell));
+            }
+        };
+    }
+
+    public static ColumnPredicate between(String column, double min, double max) {
+        return new ColumnCondition(column) {
+            @Override
+            boolean matches(Cell cell) {
+                CellType type = typeOf(cell);
+                double value;
+                if (type == CellType.NUMERIC) {
+                    value = cell.getNumericCellValue();
+                } else if (type == CellType.STRING && NumberUtils.checkDecimal(cell.getStringCellValue()) == NumberUtils.OK) {
+                    try {
+                        value = Double.parseDouble(cell.getStringCellValue());
+                    } catch (NumberFormatException e) {
+                        return false;
+                    }
+                } else {
+                    return false;
+                }
+                return value >= min && value <= max;
+            }
+        };
+    }
+
+    public static ColumnPredicate not(ColumnPredicate predicate) {
+        return new ColumnPredicate() {
+            @Override
+            Predicate<Row> bind(String[] columnNames, boolean caseSensitive) {
+                return predicate.bind(columnNames, caseSensitive).negate();
+            }
+        };
+    }
+
+    public ColumnPredicate and(ColumnPredicate other) {
+        ColumnPredicate self = this;
+        return new ColumnPredicate() {
+            @Override
+            Predicate<Row> bind(String[] columnNames, boolean caseSensitive) {
+                return self.bind(columnNames, caseSensitive).and(other.bind(columnNames, caseSensitive));
+            }
+        };
+    }
+
+    public ColumnPredicate or(ColumnPredicate other) {
+        ColumnPredicate self = this;
+        return new ColumnPredicate() {
+            @Override
+            Predicate<Row> bind(String[] columnNames, boolean caseSensitive) {
+                return self.bind(columnNames, caseSensitive).or(other.bind(columnNames, caseSensitive));
+            }
+        };
+    }
+
+    public final Predicate<Row> bind(Row header, boolean caseSensitive) {
+        return bind(Mapper.columnNames(header), caseSensitive);
+    }
+
+    abstract Predicate<Row> bind(String[] columnNames, boolean caseSensitive);
+
+    private abstract static class ColumnCondition extends ColumnPredicate {
+        private final String column;
+
+        ColumnCondition(String column) {
+            this.column = column;
+        }
+
+        @Override
+        Predicate<Row> bind(String[] columnNames, boolean caseSensitive) {
+            String wanted = caseSensitive ? column : column.toLowerCase(Locale.ROOT);
+            for (int i = 0; i < columnNames.length; i++) {
+                String columnName = columnNames[i];
+                if (columnName != null && wanted.equals(caseSensitive ? columnName : columnName.toLowerCase(Locale.ROOT))) {
+                    int columnIndex = i;
+                    return row -> matches(row.getCell(columnIndex));
+                }
+            }
+            throw new IllegalArgumentException("Unknown column: " + column);
+        }
+
+        abstract boolean matches(Cell cell);
+
+        static CellType typeOf(Cell cell) {
+            if (cell == null) {
+                return CellType.BLANK;
+            }
+            CellType type = cell.getCellTypeEnum();
+            return type == CellType.FORMULA ? cell.getCachedFormulaResultTypeEnum() : type;
+        }
+
+        static String textOf(Cell cell) {
+            switch (typeOf(cell)) {
+                case STRING:
+                    return cell.getStringCellValue();
+                case NUMERIC:
+                    return NumberToTextConverter.toText(cell.getNumericCellValue());
+                case BOOLEAN:
+                    return String.valueOf(cell.getBooleanCellValue());
+                default:
+                    return null;
+            }
+        }
+    }
+}
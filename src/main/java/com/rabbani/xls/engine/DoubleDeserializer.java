@@ -0,0 +1,13 @@
+package com.rabbani.xls.engine;
+
+import org.apache.poi.ss.usermodel.Cell;
+
+public interface DoubleDeserializer extends Deserializer<Double> {
+
+    double deserializeDouble(Cell cell);
+
+    @Override
+    default Double deserialize(Cell cell) {
+        return deserializeDouble(cell);
+    }
+}
@@ -0,0 +1,15 @@
+package com.rabbani.xls.engine;
+
+import org.apache.poi.ss.usermodel.Cell;
+
+public interface DoubleSerializer extends Serializer<Double> {
+
+    void serializeDouble(double data, Cell cell);
+
+    @Override
+    default void serialize(Double data, Cell cell) {
+        if (data != null) {
+            serializeDouble(data, cell);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.rabbani.xls.engine;
+
+import com.rabbani.xls.util.NumberUtils;
+import org.apache.poi.ss.usermodel.Cell;
+
+import java.util.Arrays;
+
+public class ErrorCollector implements ErrorHandler {
+
+    public static final int UNLIMITED = Integer.MAX_VALUE;
+
+    public static final int FAILED = NumberUtils.OUT_OF_RANGE + 1;
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final int maxErrors;
+
+    private int[] rows = new int[INITIAL_CAPACITY];
+
+    private int[] columns = new int[INITIAL_CAPACITY];
+
+    private byte[] reasons = new byte[INITIAL_CAPACITY];
+
+    private String[] columnNames = new String[INITIAL_CAPACITY];
+
+    private int size;
+
+    public ErrorCollector() {
+        this(UNLIMITED);
+    }
+
+    public ErrorCollector(int maxErrors) {
+        if (maxErrors < 1) {
+            throw new IllegalArgumentException("maxErrors must be positive: " + maxErrors);
+        }
+        this.maxErrors = maxErrors;
+    }
+
+    @Override
+    public void handle(String columnName, Cell cell, Throwable e) {
+        add(columnName, cell, e instanceof CellParseException ? ((CellParseException) e).getStatus() : FAILED);
+    }
+
+    @Override
+    public void handle(String columnName, Cell cell, int status) {
+        add(columnName, cell, status);
+    }
+
+    private void add(String columnName, Cell cell, int reason) {
+        if (size == rows.length) {
+            int capacity = size << 1;
+            rows = Arrays.copyOf(rows, capacity);
+            columns = Arrays.copyOf(columns, capacity);
+            reasons = Arrays.copyOf(reasons, capacity);
+            columnNames = Arrays.copyOf(columnNames, capacity);
+        }
+        rows[size] = cell != null ? cell.getRowIndex() : -1;
+        columns[size] = cell != null ? cell.getColumnIndex() : -1;
+        reasons[size] = (byte) reason;
+        columnNames[size] = columnName;
+        if (++size >= maxErrors) {
+            throw new ReadAbortedException(size);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean isAborted() {
+        return size >= maxErrors;
+    }
+
+    public int getRow(int index) {
+        checkIndex(index);
+        return rows[index];
+    }
+
+    public int getColumn(int index) {
+        checkIndex(index);
+        return columns[index];
+    }
+
+    public String getColumnName(int index) {
+        checkIndex(index);
+        return columnNames[index];
+    }
+
+    public int getReason(int index) {
+        checkIndex(index);
+        return reasons[index];
+    }
+
+    public void clear() {
+        Arrays.fill(columnNames, 0, size, null);
+        size = 0;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+}
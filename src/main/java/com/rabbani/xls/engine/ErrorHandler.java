@@ -4,4 +4,8 @@ import org.apache.poi.ss.usermodel.Cell;
 
 public interface ErrorHandler {
     void handle(String columnName, Cell cell, Throwable e);
+
+    default void handle(String columnName, Cell cell, int status) {
+        handle(columnName, cell, new CellParseException(columnName, status));
+    }
 }
@@ -0,0 +1,13 @@
+package com.rabbani.xls.engine;
+
+import org.apache.poi.ss.usermodel.Cell;
+
+public interface IntDeserializer extends Deserializer<Integer> {
+
+    int deserializeInt(Cell cell);
+
+    @Override
+    default Integer deserialize(Cell cell) {
+        return deserializeInt(cell);
+    }
+}
@@ -0,0 +1,15 @@
+package com.rabbani.xls.engine;
+
+import org.apache.poi.ss.usermodel.Cell;
+
+public interface IntSerializer extends Serializer<Integer> {
+
+    void serializeInt(int data, Cell cell);
+
+    @Override
+    default void serialize(Integer data, Cell cell) {
+        if (data != null) {
+            serializeInt(data, cell);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.rabbani.xls.engine;
+
+import org.apache.poi.ss.usermodel.Cell;
+
+public interface LongDeserializer extends Deserializer<Long> {
+
+    long deserializeLong(Cell cell);
+
+    @Override
+    default Long deserialize(Cell cell) {
+        return deserializeLong(cell);
+    }
+}
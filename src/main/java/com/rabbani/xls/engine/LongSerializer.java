@@ -0,0 +1,15 @@
+package com.rabbani.xls.engine;
+
+import org.apache.poi.ss.usermodel.Cell;
+
+public interface LongSerializer extends Serializer<Long> {
+
+    void serializeLong(long data, Cell cell);
+
+    @Override
+    default void serialize(Long data, Cell cell) {
+        if (data != null) {
+            serializeLong(data, cell);
+        }
+    }
+}
@@ -1,137 +1,645 @@
 package com.rabbani.xls.engine;
 
-import com.rabbani.xls.util.UncheckedConsumer;
+import com.rabbani.xls.engine.stream.CsvFormat;
+import com.rabbani.xls.engine.stream.CsvReader;
+import com.rabbani.xls.engine.stream.CsvWriter;
+import com.rabbani.xls.engine.stream.PipelinedReader;
+import com.rabbani.xls.engine.stream.SheetAppender;
+import com.rabbani.xls.engine.stream.StreamingReader;
+import com.rabbani.xls.engine.stream.ValueRow;
 import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellType;
 import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 
-import java.util.ArrayList;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
-import java.util.function.Supplier;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 public abstract class Mapper<T> {
 
+    public static final int DEFAULT_ROW_WINDOW = SXSSFWorkbook.DEFAULT_WINDOW_SIZE;
+
+    public static final int DEFAULT_LAYOUT_CACHE_SIZE = 64;
+
     protected final Map<String, ColumnMapper<T>> columnMapperRegister;
 
     protected boolean caseSensitive;
 
-    protected Supplier<T> instanceFactory;
+    private final Map<HeaderKey, Instance<T>> layoutCache;
+
+    private final LongAdder layoutCacheHits = new LongAdder();
+
+    private final LongAdder layoutCacheMisses = new LongAdder();
+
+    private int layoutCacheSize = DEFAULT_LAYOUT_CACHE_SIZE;
 
     protected Mapper() {
         columnMapperRegister = new HashMap<>();
+        layoutCache = new LinkedHashMap<HeaderKey, Instance<T>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<HeaderKey, Instance<T>> eldest) {
+                return size() > layoutCacheSize;
+            }
+        };
     }
 
     public Instance<T> mapper(Row row) {
-        return new Impl(row);
+        return resolve(columnNames(row));
+    }
+
+    public Instance<T> mapper(Row header, Set<String> columns) {
+        return resolve(project(columnNames(header), columns));
     }
 
     public Instance<T> mapper(List<String> row) {
-        return new Impl(row);
+        return resolve(row.toArray(new String[0]));
+    }
+
+    public Instance<T> mapper(String... columns) {
+        return mapper(Arrays.asList(columns));
     }
 
     public abstract Instance<T> mapper();
 
-    private class Impl implements Instance<T> {
-        private List<ColumDesignator<T>> columnDesignators = new ArrayList<>();
-        ;
-        private int column;
+    public abstract Class<T> getType();
 
-        public Impl(List<String> columnNames) {
-            column = 0;
-            for (String columnName : columnNames) {
-                if (!caseSensitive) {
-                    columnName = columnName.toLowerCase();
-                }
+    protected abstract Instance<T> mapper(int[] columnSlots);
 
-                ColumnMapper<T> mapper = columnMapperRegister.get(columnName);
-                if (mapper != null) {
-                    columnDesignators.add(new ColumDesignator<>(mapper, column));
-                    column++;
-                }
+    private Instance<T> resolve(String[] columnNames) {
+        long start = Metrics.start();
+        HeaderKey key = new HeaderKey(columnNames, caseSensitive);
+        Instance<T> instance;
+        synchronized (layoutCache) {
+            instance = layoutCache.get(key);
+        }
+        if (instance != null) {
+            layoutCacheHits.increment();
+            if (Metrics.ENABLED) {
+                Metrics.headerResolved(getType(), start, true);
+            }
+            return instance;
+        }
 
+        layoutCacheMisses.increment();
+        instance = mapper(columnSlots(columnNames));
+        synchronized (layoutCache) {
+            layoutCache.put(key, instance);
+        }
+        if (Metrics.ENABLED) {
+            Metrics.headerResolved(getType(), start, false);
+        }
+        return instance;
+    }
+
+    static String[] columnNames(Row row) {
+        String[] columnNames = new String[Math.max(row.getLastCellNum(), 0)];
+        for (Cell cell : row) {
+            if (cell.getCellTypeEnum() == CellType.STRING) {
+                columnNames[cell.getColumnIndex()] = cell.getStringCellValue();
             }
         }
+        return columnNames;
+    }
 
-        public Impl(Row row) {
-            int i = 0;
-            for (Cell cell : row) {
-                String cellValue = cell.getStringCellValue();
-                if (cellValue != null) {
-                    if (!caseSensitive) {
-                        cellValue = cellValue.toLowerCase();
-                    }
+    private String[] project(String[] columnNames, Set<String> columns) {
+        Set<String> projection = new HashSet<>();
+        for (String column : columns) {
+            if (getColumnMapper(column) == null) {
+                throw new IllegalArgumentException("Unknown column: " + column);
+            }
+            projection.add(caseSensitive ? column : column.toLowerCase(Locale.ROOT));
+        }
+        String[] projected = new String[columnNames.length];
+        for (int i = 0; i < columnNames.length; i++) {
+            String columnName = columnNames[i];
+            if (columnName != null && projection.contains(caseSensitive ? columnName : columnName.toLowerCase(Locale.ROOT))) {
+                projected[i] = columnName;
+            }
+        }
+        return projected;
+    }
 
-                    ColumnMapper<T> mapper = columnMapperRegister.get(cellValue);
-                    if (mapper != null) {
-                        columnDesignators.add(new ColumDesignator<>(mapper, i));
-                    }
-                }
+    private int[] columnSlots(String[] columnNames) {
+        int[] columnSlots = new int[columnNames.length];
+        for (int i = 0; i < columnNames.length; i++) {
+            ColumnMapper<T> mapper = columnNames[i] != null ? getColumnMapper(columnNames[i]) : null;
+            columnSlots[i] = mapper != null ? mapper.slot : -1;
+        }
+        return columnSlots;
+    }
+
+    public void setLayoutCacheSize(int layoutCacheSize) {
+        synchronized (layoutCache) {
+            this.layoutCacheSize = layoutCacheSize;
+            layoutCache.clear();
+        }
+    }
+
+    public void clearLayoutCache() {
+        synchronized (layoutCache) {
+            layoutCache.clear();
+        }
+    }
+
+    public long getLayoutCacheHits() {
+        return layoutCacheHits.sum();
+    }
+
+    public long getLayoutCacheMisses() {
+        return layoutCacheMisses.sum();
+    }
+
+    private ColumnMapper<T> getColumnMapper(String columnName) {
+        return columnMapperRegister.get(caseSensitive ? columnName : columnName.toLowerCase(Locale.ROOT));
+    }
+
+    public void stream(InputStream inputStream, Consumer<? super T> consumer) throws IOException {
+        stream(inputStream, consumer, null);
+    }
+
+    public void stream(InputStream inputStream, Consumer<? super T> consumer, ErrorHandler errorHandler) throws IOException {
+        stream(inputStream, null, consumer, errorHandler);
+    }
 
-                i++;
+    public void stream(InputStream inputStream, Set<String> columns, Consumer<? super T> consumer, ErrorHandler errorHandler) throws IOException {
+        try (StreamingReader reader = StreamingReader.open(inputStream)) {
+            stream(reader, columns, consumer, errorHandler);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    public void readWhere(Sheet sheet, ColumnPredicate predicate, Consumer<? super T> consumer) {
+        readWhere(sheet, predicate, consumer, null);
+    }
+
+    public void readWhere(Sheet sheet, ColumnPredicate predicate, Consumer<? super T> consumer, ErrorHandler errorHandler) {
+        readWhere(sheet.rowIterator(), predicate, consumer, errorHandler);
+    }
+
+    public void streamWhere(InputStream inputStream, ColumnPredicate predicate, Consumer<? super T> consumer, ErrorHandler errorHandler) throws IOException {
+        try (StreamingReader reader = StreamingReader.open(inputStream)) {
+            readWhere(reader, predicate, consumer, errorHandler);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    public void streamWhere(Path path, ColumnPredicate predicate, Consumer<? super T> consumer, ErrorHandler errorHandler) throws IOException {
+        try (StreamingReader reader = StreamingReader.open(path)) {
+            readWhere(reader, predicate, consumer, errorHandler);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private void readWhere(Iterator<Row> rows, ColumnPredicate predicate, Consumer<? super T> consumer, ErrorHandler errorHandler) {
+        if (!rows.hasNext()) {
+            return;
+        }
+        long start = Metrics.start();
+        long count = 0;
+        Row header = rows.next();
+        Instance<T> instance = mapper(header);
+        Predicate<Row> filter = predicate.bind(header, caseSensitive);
+        while (rows.hasNext()) {
+            Row row = rows.next();
+            if (filter.test(row)) {
+                consumer.accept(instance.read(row, errorHandler));
+                count++;
             }
         }
+        if (Metrics.ENABLED) {
+            Metrics.sheetRead(getType(), count, start);
+        }
+    }
 
-        @Override
-        public T read(Row row, ErrorHandler errorHandler) {
-            T value = instanceFactory.get();
-            for (int i = 0; i < column; i++) {
-                ColumDesignator<T> columnDesignator = columnDesignators.get(i);
-                ColumnMapper<T> mapper = columnDesignator.mapper;
-                Cell cell = row.getCell(columnDesignator.column);
-                try {
-                    mapper.reader.accept(cell, value);
-                } catch (Exception e) {
-                    if (errorHandler != null) {
-                        errorHandler.handle(mapper.name, cell, e);
-                    }
-                }
+    public void stream(Path path, Consumer<? super T> consumer) throws IOException {
+        stream(path, null, consumer, null);
+    }
+
+    public void stream(Path path, Consumer<? super T> consumer, ErrorHandler errorHandler) throws IOException {
+        stream(path, null, consumer, errorHandler);
+    }
+
+    public void stream(Path path, Set<String> columns, Consumer<? super T> consumer, ErrorHandler errorHandler) throws IOException {
+        try (StreamingReader reader = StreamingReader.open(path)) {
+            stream(reader, columns, consumer, errorHandler);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    public void streamPipelined(InputStream inputStream, int queueDepth, Consumer<? super T> consumer, ErrorHandler errorHandler) throws IOException {
+        try (StreamingReader reader = StreamingReader.open(inputStream)) {
+            streamPipelined(reader, queueDepth, consumer, errorHandler);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    public void streamPipelined(Path path, int queueDepth, Consumer<? super T> consumer, ErrorHandler errorHandler) throws IOException {
+        try (StreamingReader reader = StreamingReader.open(path)) {
+            streamPipelined(reader, queueDepth, consumer, errorHandler);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    public void streamCsv(InputStream inputStream, CsvFormat format, Consumer<? super T> consumer, ErrorHandler errorHandler) throws IOException {
+        try {
+            streamCsv(CsvReader.open(inputStream, format), consumer, errorHandler);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    public void streamCsv(Path path, CsvFormat format, Consumer<? super T> consumer, ErrorHandler errorHandler) throws IOException {
+        try (CsvReader reader = CsvReader.open(path, format)) {
+            streamCsv(reader, consumer, errorHandler);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private void streamCsv(CsvReader reader, Consumer<? super T> consumer, ErrorHandler errorHandler) {
+        if (!reader.hasNext()) {
+            return;
+        }
+        long start = Metrics.start();
+        long count = 0;
+        String[] columnNames = columnNames(reader.next());
+        boolean[] columnMask = new boolean[columnNames.length];
+        for (int i = 0; i < columnNames.length; i++) {
+            columnMask[i] = columnNames[i] != null && getColumnMapper(columnNames[i]) != null;
+        }
+        reader.setColumnMask(columnMask);
+        Instance<T> instance = resolve(columnNames);
+        while (reader.hasNext()) {
+            consumer.accept(instance.read(reader.next(), errorHandler));
+            count++;
+        }
+        if (Metrics.ENABLED) {
+            Metrics.sheetRead(getType(), count, start);
+        }
+    }
+
+    private void streamPipelined(StreamingReader reader, int queueDepth, Consumer<? super T> consumer, ErrorHandler errorHandler) {
+        if (!reader.hasNext()) {
+            return;
+        }
+        long start = Metrics.start();
+        long count = 0;
+        Instance<T> instance = mapper(reader.next());
+        try (PipelinedReader rows = new PipelinedReader(reader, queueDepth, PipelinedReader.DEFAULT_CHUNK_SIZE)) {
+            while (rows.hasNext()) {
+                consumer.accept(instance.read(rows.next(), errorHandler));
+                count++;
             }
-            return value;
         }
+        if (Metrics.ENABLED) {
+            Metrics.sheetRead(getType(), count, start);
+        }
+    }
 
-        @Override
-        public void write(Row row, T value, ErrorHandler errorHandler) {
-            for (int i = 0; i < column; i++) {
-                ColumDesignator<T> columnDesignator = columnDesignators.get(i);
-                ColumnMapper<T> mapper = columnDesignator.mapper;
-                Cell cell = row.createCell(columnDesignator.column);
-                try {
-                    mapper.writer.accept(cell, value);
-                } catch (Exception e) {
-                    if (errorHandler != null) {
-                        errorHandler.handle(mapper.name, cell, e);
-                    }
-                }
+    private void stream(StreamingReader reader, Set<String> columns, Consumer<? super T> consumer, ErrorHandler errorHandler) {
+        if (!reader.hasNext()) {
+            return;
+        }
+        long start = Metrics.start();
+        long count = 0;
+        String[] columnNames = columnNames(reader.next());
+        if (columns != null) {
+            columnNames = project(columnNames, columns);
+            boolean[] columnMask = new boolean[columnNames.length];
+            for (int i = 0; i < columnNames.length; i++) {
+                columnMask[i] = columnNames[i] != null;
             }
+            reader.setColumnMask(columnMask);
+        }
+        Instance<T> instance = resolve(columnNames);
+        while (reader.hasNext()) {
+            consumer.accept(instance.read(reader.next(), errorHandler));
+            count++;
+        }
+        if (Metrics.ENABLED) {
+            Metrics.sheetRead(getType(), count, start);
+        }
+    }
+
+    public RowView<T> view(Row header) {
+        return view(header, null);
+    }
+
+    public RowView<T> view(Row header, ErrorHandler errorHandler) {
+        int[] columnSlots = columnSlots(columnNames(header));
+        int[] columnIndexes = new int[columnMapperRegister.size()];
+        Arrays.fill(columnIndexes, -1);
+        for (int i = 0; i < columnSlots.length; i++) {
+            if (columnSlots[i] >= 0) {
+                columnIndexes[columnSlots[i]] = i;
+            }
+        }
+        return newView(columnIndexes, errorHandler);
+    }
+
+    protected RowView<T> newView(int[] columnIndexes, ErrorHandler errorHandler) {
+        throw new UnsupportedOperationException(getClass().getName() + " has no lazy view, enable it with @Xls(lazyView = true)");
+    }
+
+    protected boolean hasFormattedColumns() {
+        return false;
+    }
+
+    public abstract ColumnBatch<T> newBatch(int capacity);
+
+    public abstract void reset(T value);
+
+    public void readBatch(Sheet sheet, int batchSize, Consumer<? super ColumnBatch<T>> consumer) {
+        readBatch(sheet, batchSize, consumer, null);
+    }
+
+    public void readBatch(Sheet sheet, int batchSize, Consumer<? super ColumnBatch<T>> consumer, ErrorHandler errorHandler) {
+        readBatch(sheet.rowIterator(), batchSize, consumer, errorHandler);
+    }
+
+    public void streamBatch(InputStream inputStream, int batchSize, Consumer<? super ColumnBatch<T>> consumer) throws IOException {
+        streamBatch(inputStream, batchSize, consumer, null);
+    }
+
+    public void streamBatch(InputStream inputStream, int batchSize, Consumer<? super ColumnBatch<T>> consumer, ErrorHandler errorHandler) throws IOException {
+        try (StreamingReader reader = StreamingReader.open(inputStream)) {
+            readBatch(reader, batchSize, consumer, errorHandler);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    public void streamBatch(Path path, int batchSize, Consumer<? super ColumnBatch<T>> consumer) throws IOException {
+        streamBatch(path, batchSize, consumer, null);
+    }
+
+    public void streamBatch(Path path, int batchSize, Consumer<? super ColumnBatch<T>> consumer, ErrorHandler errorHandler) throws IOException {
+        try (StreamingReader reader = StreamingReader.open(path)) {
+            readBatch(reader, batchSize, consumer, errorHandler);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private void readBatch(Iterator<Row> rows, int batchSize, Consumer<? super ColumnBatch<T>> consumer, ErrorHandler errorHandler) {
+        if (!rows.hasNext()) {
+            return;
+        }
+        long start = Metrics.start();
+        long count = 0;
+        int[] columnSlots = columnSlots(columnNames(rows.next()));
+        ColumnBatch<T> batch = newBatch(batchSize);
+        while (rows.hasNext()) {
+            batch.add(rows.next(), columnSlots, errorHandler);
+            count++;
+            if (batch.isFull()) {
+                consumer.accept(batch);
+                batch.clear();
+            }
+        }
+        if (batch.size() > 0) {
+            consumer.accept(batch);
+        }
+        if (Metrics.ENABLED) {
+            Metrics.sheetRead(getType(), count, start);
+        }
+    }
+
+    public void writeAll(OutputStream outputStream, Iterable<? extends T> values, String[] columns) throws IOException {
+        writeAll(outputStream, values, columns, DEFAULT_ROW_WINDOW, true, null);
+    }
+
+    public void writeAll(OutputStream outputStream, Stream<? extends T> values, String[] columns) throws IOException {
+        writeAll(outputStream, values.iterator(), columns, DEFAULT_ROW_WINDOW, true, null);
+    }
+
+    public void writeAll(OutputStream outputStream, Stream<? extends T> values, String[] columns,
+                         int rowWindow, boolean compressTempFiles, ErrorHandler errorHandler) throws IOException {
+        writeAll(outputStream, values.iterator(), columns, rowWindow, compressTempFiles, errorHandler);
+    }
+
+    public void writeAll(OutputStream outputStream, Iterable<? extends T> values, String[] columns,
+                         int rowWindow, boolean compressTempFiles, ErrorHandler errorHandler) throws IOException {
+        writeAll(outputStream, values.iterator(), columns, rowWindow, compressTempFiles, errorHandler);
+    }
+
+    private void writeAll(OutputStream outputStream, Iterator<? extends T> values, String[] columns,
+                          int rowWindow, boolean compressTempFiles, ErrorHandler errorHandler) throws IOException {
+        SXSSFWorkbook workbook = new SXSSFWorkbook(null, rowWindow, compressTempFiles);
+        try {
+            Sheet sheet = workbook.createSheet();
+            Row header = sheet.createRow(0);
+            for (int i = 0; i < columns.length; i++) {
+                header.createCell(i).setCellValue(columns[i]);
+            }
+
+            long start = Metrics.start();
+            Instance<T> instance = mapper(columns);
+            CellStyles cellStyles = CellStyles.of(workbook).local();
+            int rowIndex = 1;
+            while (values.hasNext()) {
+                instance.write(sheet.createRow(rowIndex++), values.next(), cellStyles, errorHandler);
+            }
+            workbook.write(outputStream);
+            if (Metrics.ENABLED) {
+                Metrics.sheetWritten(getType(), rowIndex - 1, start);
+            }
+        } finally {
+            workbook.dispose();
+            workbook.close();
+        }
+    }
+
+    public void append(Path path, int sheetIndex, Iterable<? extends T> values, ErrorHandler errorHandler) throws IOException {
+        append(path, sheetIndex, values.iterator(), errorHandler);
+    }
+
+    public void append(Path path, int sheetIndex, Stream<? extends T> values, ErrorHandler errorHandler) throws IOException {
+        append(path, sheetIndex, values.iterator(), errorHandler);
+    }
+
+    private void append(Path path, int sheetIndex, Iterator<? extends T> values, ErrorHandler errorHandler) throws IOException {
+        if (hasFormattedColumns()) {
+            throw new UnsupportedOperationException(getType().getName() + " has @Serialize(format) columns, append writes cells without styles");
+        }
+        try (SheetAppender appender = SheetAppender.open(path, sheetIndex)) {
+            long start = Metrics.start();
+            long count = 0;
+            Instance<T> instance = mapper(appender.header());
+            while (values.hasNext()) {
+                Row row = appender.nextRow();
+                instance.write(row, values.next(), null, errorHandler);
+                appender.writeRow(row);
+                count++;
+            }
+            appender.commit();
+            if (Metrics.ENABLED) {
+                Metrics.sheetWritten(getType(), count, start);
+            }
+        }
+    }
+
+    public void writeCsv(OutputStream outputStream, Iterable<? extends T> values, String[] columns, CsvFormat format, ErrorHandler errorHandler) throws IOException {
+        writeCsv(outputStream, values.iterator(), columns, format, errorHandler);
+    }
+
+    public void writeCsv(OutputStream outputStream, Stream<? extends T> values, String[] columns, CsvFormat format, ErrorHandler errorHandler) throws IOException {
+        writeCsv(outputStream, values.iterator(), columns, format, errorHandler);
+    }
+
+    private void writeCsv(OutputStream outputStream, Iterator<? extends T> values, String[] columns, CsvFormat format, ErrorHandler errorHandler) throws IOException {
+        CsvWriter writer = CsvWriter.open(outputStream, format);
+        writer.writeRecord(columns);
+
+        long start = Metrics.start();
+        Instance<T> instance = mapper(columns);
+        ValueRow row = new ValueRow(0);
+        int rowIndex = 1;
+        while (values.hasNext()) {
+            row.clear();
+            row.setRowNum(rowIndex++);
+            instance.write(row, values.next(), null, errorHandler);
+            writer.writeRow(row);
+        }
+        writer.flush();
+        if (Metrics.ENABLED) {
+            Metrics.sheetWritten(getType(), rowIndex - 1, start);
         }
     }
 
     public static final class ColumnMapper<T> {
         final String name;
-        final UncheckedConsumer<Cell, T> reader;
-        final UncheckedConsumer<Cell, T> writer;
+        final int slot;
 
-        public ColumnMapper(String name, UncheckedConsumer<Cell, T> reader, UncheckedConsumer<Cell, T> writer) {
+        public ColumnMapper(String name, int slot) {
             this.name = name;
-            this.reader = reader;
-            this.writer = writer;
+            this.slot = slot;
         }
     }
 
-    public static class ColumDesignator<T> {
-        final ColumnMapper<T> mapper;
-        final int column;
+    private static final class HeaderKey {
+        private final String[] columnNames;
+        private final int hash;
+
+        // case insensitive headers are folded exactly like the column lookup, so equal keys always resolve to the same slots
+        HeaderKey(String[] columnNames, boolean caseSensitive) {
+            if (!caseSensitive) {
+                columnNames = columnNames.clone();
+                for (int i = 0; i < columnNames.length; i++) {
+                    if (columnNames[i] != null) {
+                        columnNames[i] = columnNames[i].toLowerCase(Locale.ROOT);
+                    }
+                }
+            }
+            this.columnNames = columnNames;
+            this.hash = Arrays.hashCode(columnNames);
+        }
 
-        public ColumDesignator(ColumnMapper<T> mapper, int column) {
-            this.mapper = mapper;
-            this.column = column;
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof HeaderKey)) {
+                return false;
+            }
+            HeaderKey other = (HeaderKey) o;
+            return hash == other.hash && Arrays.equals(columnNames, other.columnNames);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
         }
     }
 
     public interface Instance<T> {
         void write(Row row, T value, ErrorHandler errorHandler);
 
-        T read(Row row, ErrorHandler errorHandler);
+        void write(Row row, T value, CellStyles cellStyles, ErrorHandler errorHandler);
+
+        default T read(Row row, ErrorHandler errorHandler) {
+            return read(row, null, errorHandler);
+        }
+
+        T read(Row row, T reuse, ErrorHandler errorHandler);
+
+        default void forEach(Iterable<Row> rows, Consumer<? super T> consumer) {
+            forEach(rows, consumer, null);
+        }
+
+        default void forEach(Iterable<Row> rows, Consumer<? super T> consumer, ErrorHandler errorHandler) {
+            T value = null;
+            for (Row row : rows) {
+                value = read(row, value, errorHandler);
+                consumer.accept(value);
+            }
+        }
+
+        default void forEach(Sheet sheet, Consumer<? super T> consumer) {
+            forEach(sheet, sheet.getFirstRowNum() + 1, consumer, null);
+        }
+
+        default void forEach(Sheet sheet, Consumer<? super T> consumer, ErrorHandler errorHandler) {
+            forEach(sheet, sheet.getFirstRowNum() + 1, consumer, errorHandler);
+        }
+
+        default void forEach(Sheet sheet, int firstRow, Consumer<? super T> consumer, ErrorHandler errorHandler) {
+            T value = null;
+            for (Row row : sheet) {
+                if (row.getRowNum() >= firstRow) {
+                    value = read(row, value, errorHandler);
+                    consumer.accept(value);
+                }
+            }
+        }
+
+        default void readWhere(Iterable<Row> rows, Predicate<Row> filter, Consumer<? super T> consumer, ErrorHandler errorHandler) {
+            for (Row row : rows) {
+                if (filter.test(row)) {
+                    consumer.accept(read(row, errorHandler));
+                }
+            }
+        }
+
+        default List<T> readParallel(Sheet sheet, ErrorHandler errorHandler) {
+            return readParallel(sheet, sheet.getFirstRowNum() + 1, ForkJoinPool.commonPool(), errorHandler);
+        }
+
+        default List<T> readParallel(Sheet sheet, int firstRow, ForkJoinPool pool, ErrorHandler errorHandler) {
+            return ParallelReader.read(this, sheet, firstRow, pool, errorHandler, true);
+        }
+
+        default List<T> readParallelUnordered(Sheet sheet, ErrorHandler errorHandler) {
+            return readParallelUnordered(sheet, sheet.getFirstRowNum() + 1, ForkJoinPool.commonPool(), errorHandler);
+        }
+
+        default List<T> readParallelUnordered(Sheet sheet, int firstRow, ForkJoinPool pool, ErrorHandler errorHandler) {
+            return ParallelReader.read(this, sheet, firstRow, pool, errorHandler, false);
+        }
     }
 }
@@ -1,7 +1,14 @@
 package com.rabbani.xls.engine;
 
+import java.util.Collections;
+import java.util.Set;
+
 public interface MapperFactory {
 
     <T> Mapper<T> get(Class<T> clz);
 
+    default Set<String> typeNames() {
+        return Collections.emptySet();
+    }
+
 }
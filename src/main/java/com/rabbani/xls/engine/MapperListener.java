@@ -0,0 +1,25 @@
+package com.rabbani.xls.engine;
+
+public interface MapperListener {
+
+    default void rowRead(Class<?> type) {
+    }
+
+    default void rowWritten(Class<?> type) {
+    }
+
+    default void columnConverted(Class<?> type, String column, long nanos) {
+    }
+
+    default void columnFailed(Class<?> type, String column) {
+    }
+
+    default void headerResolved(Class<?> type, long nanos, boolean cached) {
+    }
+
+    default void sheetRead(Class<?> type, long rows, long nanos) {
+    }
+
+    default void sheetWritten(Class<?> type, long rows, long nanos) {
+    }
+}
@@ -1,25 +1,101 @@
 package com.rabbani.xls.engine;
 
+import com.rabbani.xls.engine.stream.StreamingReader;
+import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.ServiceLoader;
 
 public class MapperService {
 
-    private MapperFactory mapperFactory;
+    private final Map<String, MapperFactory> owners;
 
-    private static MapperService INSTANCE;
+    private final List<MapperFactory> fallbacks;
 
-    public static MapperService getInstance() {
-        if (INSTANCE == null) {
-            INSTANCE = new MapperService();
+    private final ClassValue<Mapper<?>> mappers = new ClassValue<Mapper<?>>() {
+        @Override
+        protected Mapper<?> computeValue(Class<?> type) {
+            MapperFactory owner = owners.get(type.getName());
+            if (owner != null) {
+                return owner.get(type);
+            }
+            for (MapperFactory fallback : fallbacks) {
+                Mapper<?> mapper = fallback.get(type);
+                if (mapper != null) {
+                    return mapper;
+                }
+            }
+            return null;
         }
-        return INSTANCE;
+    };
+
+    private static final class Holder {
+        private static final MapperService INSTANCE = new MapperService();
+    }
+
+    public static MapperService getInstance() {
+        return Holder.INSTANCE;
     }
 
     private MapperService() {
-        mapperFactory = ServiceLoader.load(MapperFactory.class).iterator().next();
+        this(ServiceLoader.load(MapperFactory.class));
+    }
+
+    MapperService(Iterable<MapperFactory> factories) {
+        Map<String, MapperFactory> owners = new HashMap<>();
+        List<MapperFactory> fallbacks = new ArrayList<>();
+        for (MapperFactory factory : factories) {
+            if (factory.typeNames().isEmpty()) {
+                fallbacks.add(factory);
+                continue;
+            }
+            for (String typeName : factory.typeNames()) {
+                MapperFactory previous = owners.putIfAbsent(typeName, factory);
+                if (previous != null) {
+                    throw new IllegalStateException("mapper for " + typeName + " is provided by both "
+                            + previous.getClass().getName() + " and " + factory.getClass().getName());
+                }
+            }
+        }
+        this.owners = Collections.unmodifiableMap(owners);
+        this.fallbacks = Collections.unmodifiableList(fallbacks);
     }
 
+    @SuppressWarnings("unchecked")
     public <T> Mapper<T> getMapper(Class<T> type) {
-        return mapperFactory.get(type);
+        return (Mapper<T>) mappers.get(type);
+    }
+
+    public Workbook open(Path path) throws IOException {
+        OPCPackage pkg;
+        try {
+            pkg = OPCPackage.open(path.toFile(), PackageAccess.READ);
+        } catch (InvalidFormatException e) {
+            throw new IOException(e);
+        }
+        try {
+            return new XSSFWorkbook(pkg);
+        } catch (IOException | RuntimeException e) {
+            pkg.revert();
+            throw e;
+        }
+    }
+
+    public StreamingReader openStream(Path path) throws IOException {
+        return StreamingReader.open(path);
+    }
+
+    public StreamingReader openStream(Path path, int sheetIndex) throws IOException {
+        return StreamingReader.open(path, sheetIndex);
     }
 }
@@ -0,0 +1,87 @@
+package com.rabbani.xls.engine;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+public final class Metrics {
+
+    public static final boolean ENABLED = Boolean.getBoolean("xls.metrics");
+
+    private static final String JFR_LISTENER = "com.rabbani.xls.engine.JfrMapperListener";
+
+    private static final List<MapperListener> LISTENERS = new CopyOnWriteArrayList<>();
+
+    static {
+        if (ENABLED && !Boolean.getBoolean("xls.metrics.jfr.disabled")) {
+            try {
+                Class.forName("jdk.jfr.Event");
+                LISTENERS.add((MapperListener) Class.forName(JFR_LISTENER).getDeclaredConstructor().newInstance());
+            } catch (ReflectiveOperationException | LinkageError ignored) {
+            }
+        }
+    }
+
+    private Metrics() {
+    }
+
+    public static void addListener(MapperListener listener) {
+        if (!ENABLED) {
+            throw new IllegalStateException("metrics are disabled, start the JVM with -Dxls.metrics=true");
+        }
+        LISTENERS.add(listener);
+    }
+
+    public static void removeListener(MapperListener listener) {
+        LISTENERS.remove(listener);
+    }
+
+    public static long start() {
+        return ENABLED ? System.nanoTime() : 0L;
+    }
+
+    public static void rowRead(Class<?> type) {
+        for (MapperListener listener : LISTENERS) {
+            listener.rowRead(type);
+        }
+    }
+
+    public static void rowWritten(Class<?> type) {
+        for (MapperListener listener : LISTENERS) {
+            listener.rowWritten(type);
+        }
+    }
+
+    public static void columnConverted(Class<?> type, String column, long start) {
+        long nanos = System.nanoTime() - start;
+        for (MapperListener listener : LISTENERS) {
+            listener.columnConverted(type, column, nanos);
+        }
+    }
+
+    public static void columnFailed(Class<?> type, String column) {
+        for (MapperListener listener : LISTENERS) {
+            listener.columnFailed(type, column);
+        }
+    }
+
+    static void headerResolved(Class<?> type, long start, boolean cached) {
+        long nanos = System.nanoTime() - start;
+        for (MapperListener listener : LISTENERS) {
+            listener.headerResolved(type, nanos, cached);
+        }
+    }
+
+    static void sheetRead(Class<?> type, long rows, long start) {
+        long nanos = System.nanoTime() - start;
+        for (MapperListener listener : LISTENERS) {
+            listener.sheetRead(type, rows, nanos);
+        }
+    }
+
+    static void sheetWritten(Class<?> type, long rows, long start) {
+        long nanos = System.nanoTime() - start;
+        for (MapperListener listener : LISTENERS) {
+            listener.sheetWritten(type, rows, nanos);
+        }
+    }
+}
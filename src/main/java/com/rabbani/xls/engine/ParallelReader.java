@@ -0,0 +1,129 @@
+package com.rabbani.xls.engine;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+final class ParallelReader<T> {
+
+    private static final int MIN_CHUNK_SIZE = 256;
+
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    private final Mapper.Instance<T> instance;
+
+    private final Sheet sheet;
+
+    private final ErrorHandler errorHandler;
+
+    private final int firstRow;
+
+    private final int chunkSize;
+
+    private final Object[] orderedResult;
+
+    private final List<T> unorderedResult;
+
+    private ParallelReader(Mapper.Instance<T> instance, Sheet sheet, int firstRow, int lastRow, int parallelism,
+                           ErrorHandler errorHandler, boolean ordered) {
+        int rowCount = lastRow - firstRow;
+        this.instance = instance;
+        this.sheet = sheet;
+        this.firstRow = firstRow;
+        this.errorHandler = errorHandler != null ? new SynchronizedErrorHandler(errorHandler) : null;
+        this.chunkSize = Math.max(MIN_CHUNK_SIZE, rowCount / (parallelism * CHUNKS_PER_THREAD));
+        this.orderedResult = ordered ? new Object[rowCount] : null;
+        this.unorderedResult = ordered ? null : new ArrayList<>(rowCount);
+    }
+
+    static <T> List<T> read(Mapper.Instance<T> instance, Sheet sheet, int firstRow, ForkJoinPool pool,
+                            ErrorHandler errorHandler, boolean ordered) {
+        int lastRow = sheet.getLastRowNum() + 1;
+        firstRow = Math.max(firstRow, sheet.getFirstRowNum());
+        if (lastRow <= firstRow) {
+            return new ArrayList<>();
+        }
+
+        ParallelReader<T> reader = new ParallelReader<>(instance, sheet, firstRow, lastRow, pool.getParallelism(), errorHandler, ordered);
+        pool.invoke(reader.new Chunk(firstRow, lastRow));
+        return reader.result();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<T> result() {
+        if (unorderedResult != null) {
+            return unorderedResult;
+        }
+        List<T> result = new ArrayList<>(orderedResult.length);
+        for (Object value : orderedResult) {
+            if (value != null) {
+                result.add((T) value);
+            }
+        }
+        return result;
+    }
+
+    private final class Chunk extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+
+        Chunk(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > chunkSize) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new Chunk(from, middle), new Chunk(middle, to));
+                return;
+            }
+
+            List<T> values = unorderedResult != null ? new ArrayList<>(to - from) : null;
+            for (int i = from; i < to; i++) {
+                Row row = sheet.getRow(i);
+                if (row == null) {
+                    continue;
+                }
+                T value = instance.read(row, errorHandler);
+                if (values != null) {
+                    values.add(value);
+                } else {
+                    orderedResult[i - firstRow] = value;
+                }
+            }
+
+            if (values != null) {
+                synchronized (unorderedResult) {
+                    unorderedResult.addAll(values);
+                }
+            }
+        }
+    }
+
+    static final class SynchronizedErrorHandler implements ErrorHandler {
+        private final ErrorHandler delegate;
+
+        SynchronizedErrorHandler(ErrorHandler delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public synchronized void handle(String columnName, Cell cell, Throwable e) {
+            delegate.handle(columnName, cell, e);
+        }
+
+        @Override
+        public synchronized void handle(String columnName, Cell cell, int status) {
+            delegate.handle(columnName, cell, status);
+        }
+    }
+}
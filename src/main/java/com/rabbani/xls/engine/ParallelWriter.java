@@ -0,0 +1,157 @@
+package com.rabbani.xls.engine;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+public final class ParallelWriter {
+
+    private final List<SheetJob<?>> sheets = new ArrayList<>();
+
+    private final int rowWindow;
+
+    private final boolean compressTempFiles;
+
+    public ParallelWriter() {
+        this(Mapper.DEFAULT_ROW_WINDOW, true);
+    }
+
+    public ParallelWriter(int rowWindow, boolean compressTempFiles) {
+        this.rowWindow = rowWindow;
+        this.compressTempFiles = compressTempFiles;
+    }
+
+    public <T> ParallelWriter sheet(String name, Mapper<T> mapper, Iterable<? extends T> values, String[] columns) {
+        sheets.add(new SheetJob<>(name, mapper, values.iterator(), columns));
+        return this;
+    }
+
+    public <T> ParallelWriter sheet(String name, Mapper<T> mapper, Stream<? extends T> values, String[] columns) {
+        sheets.add(new SheetJob<>(name, mapper, values.iterator(), columns));
+        return this;
+    }
+
+    public void write(OutputStream outputStream, int parallelism, ErrorHandler errorHandler) throws IOException {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be positive: " + parallelism);
+        }
+        ErrorHandler sharedErrorHandler = errorHandler != null ? new ParallelReader.SynchronizedErrorHandler(errorHandler) : null;
+        SXSSFWorkbook workbook = new SXSSFWorkbook(null, rowWindow, compressTempFiles);
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, Math.max(sheets.size(), 1)), runnable -> {
+            Thread thread = new Thread(runnable, "xls-sheet-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            CompletionService<Void> completion = new ExecutorCompletionService<>(executor);
+            List<Future<Void>> futures = new ArrayList<>(sheets.size());
+            for (SheetJob<?> job : sheets) {
+                Sheet sheet = job.name != null ? workbook.createSheet(job.name) : workbook.createSheet();
+                futures.add(completion.submit(() -> job.write(sheet, sharedErrorHandler), null));
+            }
+            await(completion, futures);
+            workbook.write(outputStream);
+        } finally {
+            executor.shutdownNow();
+            try {
+                awaitTermination(executor);
+            } finally {
+                workbook.dispose();
+                workbook.close();
+            }
+        }
+    }
+
+    private static void await(CompletionService<Void> completion, List<Future<Void>> futures) throws IOException {
+        try {
+            for (int i = 0; i < futures.size(); i++) {
+                completion.take().get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("interrupted while writing sheets");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) cause).getCause();
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IOException(cause);
+        } finally {
+            for (Future<?> future : futures) {
+                future.cancel(true);
+            }
+        }
+    }
+
+    // the workbook may only be disposed once no job touches its sheets anymore, jobs stop at the next row once interrupted
+    private static void awaitTermination(ExecutorService executor) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                if (executor.awaitTermination(1, TimeUnit.SECONDS)) {
+                    break;
+                }
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class SheetJob<T> {
+        final String name;
+        final Mapper<T> mapper;
+        final Iterator<? extends T> values;
+        final String[] columns;
+
+        SheetJob(String name, Mapper<T> mapper, Iterator<? extends T> values, String[] columns) {
+            this.name = name;
+            this.mapper = mapper;
+            this.values = values;
+            this.columns = columns;
+        }
+
+        void write(Sheet sheet, ErrorHandler errorHandler) {
+            Row header = sheet.createRow(0);
+            for (int i = 0; i < columns.length; i++) {
+                header.createCell(i).setCellValue(columns[i]);
+            }
+
+            long start = Metrics.start();
+            Mapper.Instance<T> instance = mapper.mapper(columns);
+            CellStyles cellStyles = CellStyles.of(sheet.getWorkbook()).local();
+            int rowIndex = 1;
+            while (values.hasNext()) {
+                if (Thread.interrupted()) {
+                    throw new UncheckedIOException(new InterruptedIOException("writing sheet " + sheet.getSheetName() + " was cancelled"));
+                }
+                instance.write(sheet.createRow(rowIndex++), values.next(), cellStyles, errorHandler);
+            }
+            if (Metrics.ENABLED) {
+                Metrics.sheetWritten(mapper.getType(), rowIndex - 1, start);
+            }
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.rabbani.xls.engine;
+
+public class ReadAbortedException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int errorCount;
+
+    public ReadAbortedException(int errorCount) {
+        super("read aborted after " + errorCount + " errors");
+        this.errorCount = errorCount;
+    }
+
+    public int getErrorCount() {
+        return errorCount;
+    }
+}
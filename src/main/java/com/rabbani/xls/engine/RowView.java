@@ -0,0 +1,54 @@
+package com.rabbani.xls.engine;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.Row;
+
+import java.util.Arrays;
+
+public abstract class RowView<T> {
+
+    private final int[] columnIndexes;
+
+    private final ErrorHandler errorHandler;
+
+    private final long[] loaded;
+
+    private Row row;
+
+    protected RowView(int[] columnIndexes, ErrorHandler errorHandler) {
+        this.columnIndexes = columnIndexes;
+        this.errorHandler = errorHandler;
+        this.loaded = new long[(columnIndexes.length + 63) >>> 6];
+    }
+
+    public RowView<T> wrap(Row row) {
+        this.row = row;
+        Arrays.fill(loaded, 0L);
+        return this;
+    }
+
+    public Row row() {
+        return row;
+    }
+
+    public abstract T get();
+
+    protected final ErrorHandler errorHandler() {
+        return errorHandler;
+    }
+
+    protected final Cell cell(int slot) {
+        int column = columnIndexes[slot];
+        return column < 0 || row == null ? null : row.getCell(column);
+    }
+
+    protected final boolean load(int slot) {
+        long bit = 1L << slot;
+        int index = slot >>> 6;
+        if ((loaded[index] & bit) != 0) {
+            return false;
+        }
+        loaded[index] |= bit;
+        return true;
+    }
+}
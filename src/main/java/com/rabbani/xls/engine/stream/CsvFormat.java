@@ -0,0 +1,73 @@
+package com.rabbani.xls.engine.stream;
+
+public final class CsvFormat {
+
+    public static final char NO_QUOTE = '\0';
+
+    public static final CsvFormat CSV = new CsvFormat(',', '"', false, "\r\n");
+
+    public static final CsvFormat TSV = new CsvFormat('\t', '"', false, "\r\n");
+
+    private final char delimiter;
+
+    private final char quote;
+
+    private final boolean quoteAll;
+
+    private final String lineSeparator;
+
+    public CsvFormat(char delimiter, char quote, boolean quoteAll, String lineSeparator) {
+        if (delimiter == '\r' || delimiter == '\n' || delimiter == NO_QUOTE) {
+            throw new IllegalArgumentException("Invalid delimiter " + (int) delimiter);
+        }
+        if (quote == delimiter || quote == '\r' || quote == '\n') {
+            throw new IllegalArgumentException("Invalid quote " + (int) quote);
+        }
+        if (quoteAll && quote == NO_QUOTE) {
+            throw new IllegalArgumentException("quoteAll requires a quote character");
+        }
+        if (lineSeparator == null || lineSeparator.isEmpty()) {
+            throw new IllegalArgumentException("lineSeparator must not be empty");
+        }
+        this.delimiter = delimiter;
+        this.quote = quote;
+        this.quoteAll = quoteAll;
+        this.lineSeparator = lineSeparator;
+    }
+
+    public char delimiter() {
+        return delimiter;
+    }
+
+    public char quote() {
+        return quote;
+    }
+
+    public boolean isQuoting() {
+        return quote != NO_QUOTE;
+    }
+
+    public boolean isQuoteAll() {
+        return quoteAll;
+    }
+
+    public String lineSeparator() {
+        return lineSeparator;
+    }
+
+    public CsvFormat withDelimiter(char delimiter) {
+        return new CsvFormat(delimiter, quote, quoteAll, lineSeparator);
+    }
+
+    public CsvFormat withQuote(char quote) {
+        return new CsvFormat(delimiter, quote, quoteAll, lineSeparator);
+    }
+
+    public CsvFormat withQuoteAll(boolean quoteAll) {
+        return new CsvFormat(delimiter, quote, quoteAll, lineSeparator);
+    }
+
+    public CsvFormat withLineSeparator(String lineSeparator) {
+        return new CsvFormat(delimiter, quote, quoteAll, lineSeparator);
+    }
+}
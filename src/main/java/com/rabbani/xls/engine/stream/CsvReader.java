@@ -0,0 +1,212 @@
+package com.rabbani.xls.engine.stream;
+
+import org.apache.poi.ss.usermodel.Row;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+public class CsvReader implements Iterator<Row>, Closeable {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private static final char BYTE_ORDER_MARK = '\uFEFF';
+
+    private final Reader reader;
+
+    private final char delimiter;
+
+    private final char quote;
+
+    private final boolean quoting;
+
+    private final char[] buffer = new char[BUFFER_SIZE];
+
+    private final StringBuilder field = new StringBuilder();
+
+    private int position;
+
+    private int limit;
+
+    private boolean[] columnMask;
+
+    private ValueRow next;
+
+    private int lastRowNum = -1;
+
+    private boolean finished;
+
+    public static CsvReader open(InputStream inputStream, CsvFormat format) {
+        return new CsvReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8), format);
+    }
+
+    public static CsvReader open(Path path, CsvFormat format) throws IOException {
+        return open(Files.newInputStream(path), format);
+    }
+
+    public CsvReader(Reader reader, CsvFormat format) {
+        this.reader = reader;
+        this.delimiter = format.delimiter();
+        this.quote = format.quote();
+        this.quoting = format.isQuoting();
+    }
+
+    public void setColumnMask(boolean[] columnMask) {
+        this.columnMask = columnMask;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null && !finished) {
+            try {
+                next = parseRow();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            finished = next == null;
+        }
+        return next != null;
+    }
+
+    @Override
+    public Row next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        Row row = next;
+        next = null;
+        return row;
+    }
+
+    private ValueRow parseRow() throws IOException {
+        if (lastRowNum < 0 && peek() == BYTE_ORDER_MARK) {
+            position++;
+        }
+        int chr;
+        while ((chr = peek()) == '\r' || chr == '\n') {
+            position++;
+            lastRowNum++;
+            if (chr == '\r' && peek() == '\n') {
+                position++;
+            }
+        }
+        if (chr == -1) {
+            return null;
+        }
+
+        ValueRow row = new ValueRow(++lastRowNum);
+        int column = 0;
+        int terminator;
+        while ((terminator = parseField(row, column)) == delimiter) {
+            column++;
+        }
+        if (terminator == '\r' && peek() == '\n') {
+            position++;
+        }
+        return row;
+    }
+
+    private int parseField(ValueRow row, int column) throws IOException {
+        boolean keep = columnMask == null || (column < columnMask.length && columnMask[column]);
+        if (quoting && peek() == quote) {
+            position++;
+            return parseQuoted(row, column, keep);
+        }
+        return parseUnquoted(row, column, keep);
+    }
+
+    private int parseUnquoted(ValueRow row, int column, boolean keep) throws IOException {
+        field.setLength(0);
+        while (true) {
+            int start = position;
+            while (position < limit) {
+                char chr = buffer[position];
+                if (chr == delimiter || chr == '\n' || chr == '\r') {
+                    int length = position - start;
+                    if (keep && field.length() + length > 0) {
+                        String value = field.length() == 0 ? new String(buffer, start, length) : field.append(buffer, start, length).toString();
+                        row.createCell(column).setCellValue(value);
+                    }
+                    position++;
+                    return chr;
+                }
+                position++;
+            }
+            if (keep) {
+                field.append(buffer, start, position - start);
+            }
+            if (!fill()) {
+                if (keep && field.length() > 0) {
+                    row.createCell(column).setCellValue(field.toString());
+                }
+                return -1;
+            }
+        }
+    }
+
+    private int parseQuoted(ValueRow row, int column, boolean keep) throws IOException {
+        field.setLength(0);
+        int chr;
+        while (true) {
+            chr = read();
+            if (chr == -1) {
+                throw new IOException("Unterminated quoted field at row " + (lastRowNum + 1) + ", column " + (column + 1));
+            }
+            if (chr == quote) {
+                if (peek() != quote) {
+                    break;
+                }
+                position++;
+            }
+            if (keep) {
+                field.append((char) chr);
+            }
+        }
+        while ((chr = read()) != -1 && chr != delimiter && chr != '\n' && chr != '\r') {
+            if (keep) {
+                field.append((char) chr);
+            }
+        }
+        if (keep) {
+            row.createCell(column).setCellValue(field.toString());
+        }
+        return chr;
+    }
+
+    private int read() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return buffer[position++];
+    }
+
+    private int peek() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return buffer[position];
+    }
+
+    private boolean fill() throws IOException {
+        position = 0;
+        limit = reader.read(buffer, 0, buffer.length);
+        if (limit < 0) {
+            limit = 0;
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,136 @@
+package com.rabbani.xls.engine.stream;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.FormulaError;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.util.NumberToTextConverter;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public class CsvWriter implements Closeable, Flushable {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final Writer writer;
+
+    private final char delimiter;
+
+    private final char quote;
+
+    private final boolean quoting;
+
+    private final boolean quoteAll;
+
+    private final String lineSeparator;
+
+    public static CsvWriter open(OutputStream outputStream, CsvFormat format) {
+        return new CsvWriter(new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), BUFFER_SIZE), format);
+    }
+
+    public static CsvWriter open(Path path, CsvFormat format) throws IOException {
+        return open(Files.newOutputStream(path), format);
+    }
+
+    public CsvWriter(Writer writer, CsvFormat format) {
+        this.writer = writer;
+        this.delimiter = format.delimiter();
+        this.quote = format.quote();
+        this.quoting = format.isQuoting();
+        this.quoteAll = format.isQuoteAll();
+        this.lineSeparator = format.lineSeparator();
+    }
+
+    public void writeRecord(String... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(delimiter);
+            }
+            if (values[i] != null) {
+                writeText(values[i]);
+            }
+        }
+        writer.write(lineSeparator);
+    }
+
+    public void writeRow(Row row) throws IOException {
+        int lastCellNum = row.getLastCellNum();
+        for (int i = 0; i < lastCellNum; i++) {
+            if (i > 0) {
+                writer.write(delimiter);
+            }
+            Cell cell = row.getCell(i);
+            if (cell != null) {
+                writeCell(cell);
+            }
+        }
+        writer.write(lineSeparator);
+    }
+
+    private void writeCell(Cell cell) throws IOException {
+        CellType type = cell.getCellTypeEnum();
+        if (type == CellType.FORMULA) {
+            type = cell.getCachedFormulaResultTypeEnum();
+        }
+        switch (type) {
+            case STRING:
+                writeText(cell.getStringCellValue());
+                break;
+            case NUMERIC:
+                writeText(NumberToTextConverter.toText(cell.getNumericCellValue()));
+                break;
+            case BOOLEAN:
+                writeText(cell.getBooleanCellValue() ? "true" : "false");
+                break;
+            case ERROR:
+                writeText(FormulaError.forInt(cell.getErrorCellValue()).getString());
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void writeText(String value) throws IOException {
+        boolean quoted = quoteAll;
+        for (int i = 0; i < value.length() && !quoted; i++) {
+            char chr = value.charAt(i);
+            quoted = chr == delimiter || chr == '\n' || chr == '\r' || (quoting && chr == quote);
+        }
+        if (!quoted) {
+            writer.write(value);
+            return;
+        }
+        if (!quoting) {
+            throw new IllegalArgumentException("Value needs quoting but quoting is disabled: " + value);
+        }
+        writer.write(quote);
+        int start = 0;
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) == quote) {
+                writer.write(value, start, i + 1 - start);
+                start = i;
+            }
+        }
+        writer.write(value, start, value.length() - start);
+        writer.write(quote);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+}
@@ -0,0 +1,139 @@
+package com.rabbani.xls.engine.stream;
+
+import org.apache.poi.ss.usermodel.Row;
+
+import java.io.Closeable;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+public class PipelinedReader implements Iterator<Row>, Closeable {
+
+    public static final int DEFAULT_QUEUE_DEPTH = 16;
+
+    public static final int DEFAULT_CHUNK_SIZE = 256;
+
+    private static final Chunk END = new Chunk(new Row[0], 0, null);
+
+    private final Iterator<Row> source;
+
+    private final BlockingQueue<Chunk> queue;
+
+    private final int chunkSize;
+
+    private final Thread producer;
+
+    private volatile boolean stopped;
+
+    private Chunk current;
+
+    private int position;
+
+    public PipelinedReader(Iterator<Row> source) {
+        this(source, DEFAULT_QUEUE_DEPTH, DEFAULT_CHUNK_SIZE);
+    }
+
+    public PipelinedReader(Iterator<Row> source, int queueDepth, int chunkSize) {
+        if (queueDepth < 1) {
+            throw new IllegalArgumentException("queueDepth must be positive: " + queueDepth);
+        }
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize must be positive: " + chunkSize);
+        }
+        this.source = source;
+        this.queue = new ArrayBlockingQueue<>(queueDepth);
+        this.chunkSize = chunkSize;
+        this.producer = new Thread(this::produce, "xls-pipelined-reader");
+        this.producer.setDaemon(true);
+        this.producer.start();
+    }
+
+    private void produce() {
+        try {
+            Row[] rows = new Row[chunkSize];
+            int size = 0;
+            while (!stopped && source.hasNext()) {
+                rows[size++] = source.next();
+                if (size == chunkSize) {
+                    queue.put(new Chunk(rows, size, null));
+                    rows = new Row[chunkSize];
+                    size = 0;
+                }
+            }
+            if (size > 0) {
+                queue.put(new Chunk(rows, size, null));
+            }
+            queue.put(END);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Throwable t) {
+            try {
+                queue.put(new Chunk(null, 0, t));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (current == null || position == current.size) {
+            if (current == END) {
+                return false;
+            }
+            try {
+                current = queue.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("interrupted while waiting for rows", e);
+            }
+            position = 0;
+            Throwable error = current.error;
+            if (error != null) {
+                current = END;
+                if (error instanceof RuntimeException) {
+                    throw (RuntimeException) error;
+                } else if (error instanceof Error) {
+                    throw (Error) error;
+                }
+                throw new IllegalStateException(error);
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public Row next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        Row row = current.rows[position];
+        current.rows[position++] = null;
+        return row;
+    }
+
+    @Override
+    public void close() {
+        stopped = true;
+        producer.interrupt();
+        queue.clear();
+        try {
+            producer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class Chunk {
+        private final Row[] rows;
+        private final int size;
+        private final Throwable error;
+
+        Chunk(Row[] rows, int size, Throwable error) {
+            this.rows = rows;
+            this.size = size;
+            this.error = error;
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.rabbani.xls.engine.stream;
+
+import com.rabbani.xls.engine.ErrorHandler;
+import com.rabbani.xls.engine.Mapper;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public final class RowPublisher<T> implements Publisher<T> {
+
+    private final Mapper<T> mapper;
+
+    private final Source source;
+
+    private final ErrorHandler errorHandler;
+
+    private RowPublisher(Mapper<T> mapper, Source source, ErrorHandler errorHandler) {
+        this.mapper = mapper;
+        this.source = source;
+        this.errorHandler = errorHandler;
+    }
+
+    public static <T> RowPublisher<T> of(Mapper<T> mapper, Sheet sheet) {
+        return of(mapper, sheet, null);
+    }
+
+    public static <T> RowPublisher<T> of(Mapper<T> mapper, Sheet sheet, ErrorHandler errorHandler) {
+        return new RowPublisher<>(mapper, sheet::rowIterator, errorHandler);
+    }
+
+    public static <T> RowPublisher<T> of(Mapper<T> mapper, Path path) {
+        return of(mapper, path, null);
+    }
+
+    public static <T> RowPublisher<T> of(Mapper<T> mapper, Path path, ErrorHandler errorHandler) {
+        return new RowPublisher<>(mapper, () -> StreamingReader.open(path), errorHandler);
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super T> subscriber) {
+        Objects.requireNonNull(subscriber, "subscriber");
+        subscriber.onSubscribe(new RowSubscription(subscriber));
+    }
+
+    private interface Source {
+        Iterator<Row> open() throws IOException;
+    }
+
+    private final class RowSubscription implements Subscription {
+        private final Subscriber<? super T> subscriber;
+        private final AtomicLong requested = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();
+        private volatile boolean cancelled;
+        private volatile Throwable invalidRequest;
+        private Iterator<Row> rows;
+        private Mapper.Instance<T> instance;
+        private boolean done;
+
+        RowSubscription(Subscriber<? super T> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                if (invalidRequest == null) {
+                    invalidRequest = new IllegalArgumentException("request must be positive: " + n);
+                }
+                if (wip.getAndIncrement() == 0) {
+                    drain();
+                }
+                return;
+            }
+            long current;
+            do {
+                current = requested.get();
+            } while (!requested.compareAndSet(current, current + n < 0 ? Long.MAX_VALUE : current + n));
+            if (wip.getAndIncrement() == 0) {
+                drain();
+            }
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            if (wip.getAndIncrement() == 0) {
+                drain();
+            }
+        }
+
+        private void drain() {
+            int missed = 1;
+            do {
+                if (cancelled) {
+                    close();
+                } else if (!done && invalidRequest != null) {
+                    close();
+                    subscriber.onError(invalidRequest);
+                } else if (!done) {
+                    emit();
+                }
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void emit() {
+            try {
+                if (rows == null) {
+                    rows = source.open();
+                    if (rows.hasNext()) {
+                        instance = mapper.mapper(rows.next());
+                    }
+                }
+                long demand = requested.get();
+                long emitted = 0;
+                while (emitted != demand && !cancelled && invalidRequest == null && rows.hasNext()) {
+                    subscriber.onNext(instance.read(rows.next(), errorHandler));
+                    emitted++;
+                }
+                if (emitted != 0 && demand != Long.MAX_VALUE) {
+                    requested.addAndGet(-emitted);
+                }
+                if (!cancelled && invalidRequest == null && !rows.hasNext()) {
+                    close();
+                    subscriber.onComplete();
+                }
+            } catch (Throwable t) {
+                close();
+                subscriber.onError(t);
+            }
+        }
+
+        private void close() {
+            if (done) {
+                return;
+            }
+            done = true;
+            if (rows instanceof Closeable) {
+                try {
+                    ((Closeable) rows).close();
+                } catch (IOException ignored) {
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,579 @@
+package com.rabbani.xls.engine.stream;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.FormulaError;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.util.CellReference;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+public class SheetAppender implements Closeable {
+
+    private static final XMLInputFactory XML_INPUT_FACTORY = XMLInputFactory.newInstance();
+
+    static {
+        XML_INPUT_FACTORY.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        XML_INPUT_FACTORY.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    }
+
+    private static final String RELATIONSHIP_NS = "http://schemas.openxmlformats.org/officeDocument/2006/relationships";
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final ZipFile source;
+
+    private final FileSystem target;
+
+    private final InputStream sheetInput;
+
+    private final OutputStream sheetOutput;
+
+    private final Writer rowWriter;
+
+    private final ValueRow row = new ValueRow(0);
+
+    private byte[] buffer = new byte[BUFFER_SIZE];
+
+    private int position;
+
+    private int limit;
+
+    private ValueRow header;
+
+    private String prefix = "";
+
+    private int lastRowNum = -1;
+
+    private boolean closed;
+
+    public static SheetAppender open(Path path) throws IOException {
+        return open(path, 0);
+    }
+
+    public static SheetAppender open(Path path, int sheetIndex) throws IOException {
+        ZipFile source = new ZipFile(path.toFile());
+        FileSystem target = null;
+        try {
+            String workbookPart = relationshipTarget(source, "_rels/.rels", "", "/officeDocument", null);
+            if (workbookPart == null) {
+                throw new IOException("Not an xlsx package: " + path);
+            }
+            int separator = workbookPart.lastIndexOf('/');
+            String workbookDirectory = workbookPart.substring(0, separator + 1);
+            String workbookRels = workbookDirectory + "_rels/" + workbookPart.substring(separator + 1) + ".rels";
+
+            String sheetId = sheetRelationshipId(source, workbookPart, sheetIndex);
+            String sheetPart = relationshipTarget(source, workbookRels, workbookDirectory, null, sheetId);
+            String sharedStringsPart = relationshipTarget(source, workbookRels, workbookDirectory, "/sharedStrings", null);
+            if (sheetPart == null) {
+                throw new IOException("Sheet part for " + sheetId + " not found");
+            }
+
+            ValueRow header = readHeader(source, sheetPart, sharedStringsPart);
+            Map<String, Object> env = new HashMap<>();
+            env.put("useTempFile", Boolean.TRUE);
+            target = FileSystems.newFileSystem(URI.create("jar:" + path.toUri()), env);
+            return new SheetAppender(source, target, sheetPart, header);
+        } catch (XMLStreamException e) {
+            closeQuietly(target);
+            source.close();
+            throw new IOException(e);
+        } catch (IOException | RuntimeException e) {
+            closeQuietly(target);
+            source.close();
+            throw e;
+        }
+    }
+
+    private SheetAppender(ZipFile source, FileSystem target, String sheetPart, ValueRow header) throws IOException {
+        this.source = source;
+        this.target = target;
+        this.header = header;
+        this.sheetInput = source.getInputStream(entry(source, sheetPart));
+        this.sheetOutput = new BufferedOutputStream(Files.newOutputStream(target.getPath(sheetPart)), BUFFER_SIZE);
+        this.rowWriter = new OutputStreamWriter(sheetOutput, StandardCharsets.UTF_8);
+        try {
+            copyHead();
+        } catch (IOException | RuntimeException e) {
+            close();
+            throw e;
+        }
+    }
+
+    public Row header() {
+        return header;
+    }
+
+    public int getLastRowNum() {
+        return lastRowNum;
+    }
+
+    public ValueRow nextRow() {
+        row.clear();
+        row.setRowNum(lastRowNum + 1);
+        return row;
+    }
+
+    public void writeRow(Row row) throws IOException {
+        if (row.getRowNum() <= lastRowNum) {
+            throw new IllegalArgumentException("Row " + row.getRowNum() + " is not after the last row " + lastRowNum);
+        }
+        lastRowNum = row.getRowNum();
+        String rowRef = String.valueOf(lastRowNum + 1);
+        rowWriter.write('<');
+        rowWriter.write(prefix);
+        rowWriter.write("row r=\"");
+        rowWriter.write(rowRef);
+        rowWriter.write("\">");
+        for (Cell cell : row) {
+            writeCell(cell, rowRef);
+        }
+        writeEndTag("row");
+    }
+
+    public void commit() throws IOException {
+        rowWriter.flush();
+        sheetOutput.write(buffer, position, limit - position);
+        int read;
+        while ((read = sheetInput.read(buffer)) > 0) {
+            sheetOutput.write(buffer, 0, read);
+        }
+        sheetOutput.close();
+        close();
+    }
+
+    private void writeCell(Cell cell, String rowRef) throws IOException {
+        CellType type = cell.getCellTypeEnum();
+        if (type == CellType.BLANK) {
+            return;
+        }
+        rowWriter.write('<');
+        rowWriter.write(prefix);
+        rowWriter.write("c r=\"");
+        rowWriter.write(CellReference.convertNumToColString(cell.getColumnIndex()));
+        rowWriter.write(rowRef);
+        rowWriter.write('"');
+        if (type == CellType.FORMULA) {
+            rowWriter.write('>');
+            writeElement("f", cell.getCellFormula());
+        } else if (type == CellType.STRING) {
+            String value = cell.getStringCellValue();
+            rowWriter.write(" t=\"inlineStr\"><");
+            rowWriter.write(prefix);
+            rowWriter.write("is><");
+            rowWriter.write(prefix);
+            boolean preserve = !value.isEmpty() && (value.charAt(0) <= ' ' || value.charAt(value.length() - 1) <= ' ');
+            rowWriter.write(preserve ? "t xml:space=\"preserve\">" : "t>");
+            writeEscaped(value);
+            writeEndTag("t");
+            writeEndTag("is");
+        } else if (type == CellType.BOOLEAN) {
+            rowWriter.write(" t=\"b\">");
+            writeElement("v", cell.getBooleanCellValue() ? "1" : "0");
+        } else if (type == CellType.ERROR) {
+            rowWriter.write(" t=\"e\">");
+            writeElement("v", FormulaError.forInt(cell.getErrorCellValue()).getString());
+        } else {
+            rowWriter.write('>');
+            double value = cell.getNumericCellValue();
+            if (!Double.isNaN(value) && !Double.isInfinite(value)) {
+                writeElement("v", Double.toString(value));
+            }
+        }
+        writeEndTag("c");
+    }
+
+    private void writeElement(String localName, String value) throws IOException {
+        rowWriter.write('<');
+        rowWriter.write(prefix);
+        rowWriter.write(localName);
+        rowWriter.write('>');
+        writeEscaped(value);
+        writeEndTag(localName);
+    }
+
+    private void writeEndTag(String localName) throws IOException {
+        rowWriter.write("</");
+        rowWriter.write(prefix);
+        rowWriter.write(localName);
+        rowWriter.write('>');
+    }
+
+    private void writeEscaped(String value) throws IOException {
+        int start = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char chr = value.charAt(i);
+            String replacement;
+            if (chr == '<') {
+                replacement = "&lt;";
+            } else if (chr == '>') {
+                replacement = "&gt;";
+            } else if (chr == '&') {
+                replacement = "&amp;";
+            } else if (chr == '\r') {
+                replacement = "&#xd;";
+            } else if (chr < ' ' && chr != '\n' && chr != '\t' || chr == '\uFFFE' || chr == '\uFFFF') {
+                replacement = "?";
+            } else {
+                continue;
+            }
+            rowWriter.write(value, start, i - start);
+            rowWriter.write(replacement);
+            start = i + 1;
+        }
+        rowWriter.write(value, start, value.length() - start);
+    }
+
+    private void copyHead() throws IOException {
+        boolean inSheetData = false;
+        String skipping = null;
+        int flushed = 0;
+        while (true) {
+            int open = indexOf((byte) '<', position);
+            int close = open >= 0 ? markupEnd(open) : -1;
+            if (close < 0) {
+                int keep = open >= 0 ? open : limit;
+                if (skipping == null) {
+                    sheetOutput.write(buffer, flushed, keep - flushed);
+                }
+                if (!fill(keep)) {
+                    throw new IOException("sheetData element not found");
+                }
+                flushed = 0;
+                continue;
+            }
+
+            if (buffer[open + 1] == '!' || buffer[open + 1] == '?') {
+                position = close + 1;
+                continue;
+            }
+
+            boolean endTag = buffer[open + 1] == '/';
+            int nameStart = endTag ? open + 2 : open + 1;
+            int nameEnd = nameStart;
+            int localStart = nameStart;
+            while (nameEnd < close && buffer[nameEnd] > ' ' && buffer[nameEnd] != '/' && buffer[nameEnd] != '>') {
+                if (buffer[nameEnd] == ':') {
+                    localStart = nameEnd + 1;
+                }
+                nameEnd++;
+            }
+            String localName = new String(buffer, localStart, nameEnd - localStart, StandardCharsets.US_ASCII);
+            position = close + 1;
+
+            if (skipping != null) {
+                if (endTag && skipping.equals(localName)) {
+                    skipping = null;
+                    flushed = position;
+                }
+            } else if (!inSheetData && !endTag && "dimension".equals(localName)) {
+                sheetOutput.write(buffer, flushed, open - flushed);
+                flushed = position;
+                if (buffer[close - 1] != '/') {
+                    skipping = localName;
+                }
+            } else if ("sheetData".equals(localName)) {
+                if (!endTag) {
+                    inSheetData = true;
+                    prefix = new String(buffer, nameStart, localStart - nameStart, StandardCharsets.US_ASCII);
+                } else {
+                    sheetOutput.write(buffer, flushed, open - flushed);
+                    position = open;
+                    return;
+                }
+            } else if (inSheetData && !endTag && "row".equals(localName)) {
+                int rowRef = rowReference(nameEnd, close);
+                lastRowNum = rowRef > 0 ? rowRef - 1 : lastRowNum + 1;
+            }
+        }
+    }
+
+    // index of the '>' closing the markup that starts at open, -1 when it is not buffered yet.
+    // comments, CDATA sections and processing instructions run to their own terminator, and a '>' inside a quoted
+    // attribute value does not end a tag
+    private int markupEnd(int open) {
+        if (startsWith(open, "<!--")) {
+            return terminator(open + 4, "-->");
+        }
+        if (startsWith(open, "<![CDATA[")) {
+            return terminator(open + 9, "]]>");
+        }
+        if (startsWith(open, "<?")) {
+            return terminator(open + 2, "?>");
+        }
+        if (open + 4 > limit && (open + 1 == limit || buffer[open + 1] == '!')) {
+            return -1;
+        }
+        byte quote = 0;
+        for (int i = open + 1; i < limit; i++) {
+            byte b = buffer[i];
+            if (quote != 0) {
+                if (b == quote) {
+                    quote = 0;
+                }
+            } else if (b == '"' || b == '\'') {
+                quote = b;
+            } else if (b == '>') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private boolean startsWith(int from, String prefix) {
+        if (from + prefix.length() > limit) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length(); i++) {
+            if (buffer[from + i] != prefix.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int terminator(int from, String terminator) {
+        int last = terminator.length() - 1;
+        for (int i = from + last; i < limit; i++) {
+            if (buffer[i] == '>' && startsWith(i - last, terminator)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private int rowReference(int from, int to) {
+        for (int i = from; i + 3 < to; i++) {
+            if (buffer[i] <= ' ' && buffer[i + 1] == 'r' && buffer[i + 2] == '=' && (buffer[i + 3] == '"' || buffer[i + 3] == '\'')) {
+                int value = 0;
+                for (int j = i + 4; j < to && buffer[j] >= '0' && buffer[j] <= '9'; j++) {
+                    value = value * 10 + (buffer[j] - '0');
+                }
+                return value;
+            }
+        }
+        return -1;
+    }
+
+    private int indexOf(byte value, int from) {
+        for (int i = from; i < limit; i++) {
+            if (buffer[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private boolean fill(int keep) throws IOException {
+        int remaining = limit - keep;
+        if (remaining == buffer.length) {
+            buffer = Arrays.copyOf(buffer, buffer.length * 2);
+        }
+        System.arraycopy(buffer, keep, buffer, 0, remaining);
+        position = 0;
+        limit = remaining;
+        int read = sheetInput.read(buffer, limit, buffer.length - limit);
+        if (read < 0) {
+            return false;
+        }
+        limit += read;
+        return true;
+    }
+
+    private static ValueRow readHeader(ZipFile source, String sheetPart, String sharedStringsPart) throws IOException, XMLStreamException {
+        ValueRow header = null;
+        Map<Integer, Integer> sharedHeaderCells = new TreeMap<>();
+        try (InputStream input = source.getInputStream(entry(source, sheetPart))) {
+            XMLStreamReader xml = XML_INPUT_FACTORY.createXMLStreamReader(input);
+            try {
+                boolean collecting = false;
+                int column = -1;
+                String type = null;
+                StringBuilder text = new StringBuilder();
+                while (xml.hasNext()) {
+                    int event = xml.next();
+                    if (event == XMLStreamConstants.START_ELEMENT) {
+                        String name = xml.getLocalName();
+                        if (header == null && "row".equals(name)) {
+                            String rowRef = xml.getAttributeValue(null, "r");
+                            header = new ValueRow(rowRef != null ? Integer.parseInt(rowRef) - 1 : 0);
+                        } else if (header != null && "c".equals(name)) {
+                            String cellRef = xml.getAttributeValue(null, "r");
+                            column = cellRef != null ? new CellReference(cellRef).getCol() : column + 1;
+                            type = xml.getAttributeValue(null, "t");
+                            text.setLength(0);
+                        } else if (header != null && ("v".equals(name) || "t".equals(name))) {
+                            collecting = true;
+                        }
+                    } else if (event == XMLStreamConstants.END_ELEMENT) {
+                        String name = xml.getLocalName();
+                        if ("v".equals(name) || "t".equals(name)) {
+                            collecting = false;
+                        } else if (header != null && "c".equals(name)) {
+                            if ("s".equals(type)) {
+                                sharedHeaderCells.put(column, Integer.parseInt(text.toString().trim()));
+                            } else if (text.length() > 0) {
+                                header.createCell(column).setCellValue(text.toString());
+                            }
+                        } else if ("row".equals(name) || "sheetData".equals(name)) {
+                            break;
+                        }
+                    } else if (collecting && (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA)) {
+                        text.append(xml.getText());
+                    }
+                }
+            } finally {
+                xml.close();
+            }
+        }
+        if (header == null) {
+            throw new IllegalArgumentException("Sheet " + sheetPart + " has no header row");
+        }
+        if (!sharedHeaderCells.isEmpty()) {
+            resolveSharedStrings(source, sharedStringsPart, header, sharedHeaderCells);
+        }
+        return header;
+    }
+
+    private static void resolveSharedStrings(ZipFile source, String sharedStringsPart, ValueRow header, Map<Integer, Integer> sharedHeaderCells) throws IOException, XMLStreamException {
+        if (sharedStringsPart == null) {
+            throw new IOException("Header uses shared strings but the package has no shared strings part");
+        }
+        Map<Integer, String> strings = new HashMap<>();
+        int lastIndex = Collections.max(sharedHeaderCells.values());
+        try (InputStream input = source.getInputStream(entry(source, sharedStringsPart))) {
+            XMLStreamReader reader = XML_INPUT_FACTORY.createXMLStreamReader(input);
+            try {
+                int index = -1;
+                int phoneticDepth = 0;
+                StringBuilder text = new StringBuilder();
+                while (reader.hasNext() && index <= lastIndex) {
+                    int event = reader.next();
+                    if (event == XMLStreamConstants.START_ELEMENT) {
+                        String name = reader.getLocalName();
+                        if ("si".equals(name)) {
+                            index++;
+                            text.setLength(0);
+                        } else if ("rPh".equals(name)) {
+                            phoneticDepth++;
+                        } else if ("t".equals(name) && phoneticDepth == 0) {
+                            text.append(reader.getElementText());
+                        }
+                    } else if (event == XMLStreamConstants.END_ELEMENT) {
+                        String name = reader.getLocalName();
+                        if ("rPh".equals(name)) {
+                            phoneticDepth--;
+                        } else if ("si".equals(name)) {
+                            strings.put(index, text.toString());
+                        }
+                    }
+                }
+            } finally {
+                reader.close();
+            }
+        }
+        for (Map.Entry<Integer, Integer> sharedCell : sharedHeaderCells.entrySet()) {
+            String value = strings.get(sharedCell.getValue());
+            if (value != null) {
+                header.createCell(sharedCell.getKey()).setCellValue(value);
+            }
+        }
+    }
+
+    private static ZipEntry entry(ZipFile zipFile, String part) throws IOException {
+        ZipEntry entry = zipFile.getEntry(part);
+        if (entry == null) {
+            throw new IOException("Missing package part " + part);
+        }
+        return entry;
+    }
+
+    private static String sheetRelationshipId(ZipFile source, String workbookPart, int sheetIndex) throws IOException, XMLStreamException {
+        try (InputStream input = source.getInputStream(entry(source, workbookPart))) {
+            XMLStreamReader reader = XML_INPUT_FACTORY.createXMLStreamReader(input);
+            try {
+                int index = 0;
+                while (reader.hasNext()) {
+                    if (reader.next() == XMLStreamConstants.START_ELEMENT && "sheet".equals(reader.getLocalName())) {
+                        if (index++ == sheetIndex) {
+                            return reader.getAttributeValue(RELATIONSHIP_NS, "id");
+                        }
+                    }
+                }
+            } finally {
+                reader.close();
+            }
+        }
+        throw new IllegalArgumentException("Sheet index (" + sheetIndex + ") is out of range");
+    }
+
+    private static String relationshipTarget(ZipFile source, String relsPart, String baseDirectory, String typeSuffix, String id) throws IOException, XMLStreamException {
+        try (InputStream input = source.getInputStream(entry(source, relsPart))) {
+            XMLStreamReader reader = XML_INPUT_FACTORY.createXMLStreamReader(input);
+            try {
+                while (reader.hasNext()) {
+                    if (reader.next() == XMLStreamConstants.START_ELEMENT && "Relationship".equals(reader.getLocalName())) {
+                        String type = reader.getAttributeValue(null, "Type");
+                        boolean matches = id != null ? id.equals(reader.getAttributeValue(null, "Id")) : type != null && type.endsWith(typeSuffix);
+                        if (matches) {
+                            String target = reader.getAttributeValue(null, "Target");
+                            return target.startsWith("/") ? target.substring(1) : baseDirectory + target;
+                        }
+                    }
+                }
+            } finally {
+                reader.close();
+            }
+        }
+        return null;
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        if (closeable == null) {
+            return;
+        }
+        try {
+            closeable.close();
+        } catch (IOException ignored) {
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            sheetInput.close();
+            source.close();
+        } finally {
+            // without commit the sheet entry stream is left unclosed, so the package is not rewritten
+            target.close();
+        }
+    }
+}
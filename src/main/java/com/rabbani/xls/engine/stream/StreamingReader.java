@@ -0,0 +1,299 @@
+package com.rabbani.xls.engine.stream;
+
+import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.FormulaError;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.model.StylesTable;
+import org.xml.sax.SAXException;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+public class StreamingReader implements Iterator<Row>, Closeable {
+
+    private static final XMLInputFactory XML_INPUT_FACTORY = XMLInputFactory.newInstance();
+
+    static {
+        XML_INPUT_FACTORY.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        XML_INPUT_FACTORY.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    }
+
+    private final OPCPackage pkg;
+
+    private final Path spooledFile;
+
+    private final ReadOnlySharedStringsTable sharedStrings;
+
+    private final StylesTable styles;
+
+    private final boolean date1904;
+
+    private final InputStream sheetStream;
+
+    private final XMLStreamReader xml;
+
+    private boolean[] columnMask;
+
+    private ValueRow next;
+
+    private int lastRowNum = -1;
+
+    private boolean finished;
+
+    public static StreamingReader open(InputStream inputStream) throws IOException {
+        return open(inputStream, 0);
+    }
+
+    public static StreamingReader open(InputStream inputStream, int sheetIndex) throws IOException {
+        Path spooledFile = Files.createTempFile("xls-stream", ".xlsx");
+        try {
+            Files.copy(inputStream, spooledFile, StandardCopyOption.REPLACE_EXISTING);
+            return new StreamingReader(OPCPackage.open(spooledFile.toFile(), PackageAccess.READ), spooledFile, sheetIndex);
+        } catch (OpenXML4JException e) {
+            Files.deleteIfExists(spooledFile);
+            throw new IOException(e);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(spooledFile);
+            throw e;
+        }
+    }
+
+    public static StreamingReader open(Path path) throws IOException {
+        return open(path, 0);
+    }
+
+    public static StreamingReader open(Path path, int sheetIndex) throws IOException {
+        try {
+            return new StreamingReader(OPCPackage.open(path.toFile(), PackageAccess.READ), null, sheetIndex);
+        } catch (InvalidFormatException e) {
+            throw new IOException(e);
+        }
+    }
+
+    private StreamingReader(OPCPackage pkg, Path spooledFile, int sheetIndex) throws IOException {
+        this.pkg = pkg;
+        this.spooledFile = spooledFile;
+        try {
+            XSSFReader reader = new XSSFReader(pkg);
+            sharedStrings = new ReadOnlySharedStringsTable(pkg);
+            styles = reader.getStylesTable();
+            try (InputStream workbookData = reader.getWorkbookData()) {
+                date1904 = readDate1904(workbookData);
+            }
+
+            Iterator<InputStream> sheets = reader.getSheetsData();
+            InputStream selected = null;
+            for (int i = 0; i <= sheetIndex; i++) {
+                if (!sheets.hasNext()) {
+                    throw new IllegalArgumentException("Sheet index (" + sheetIndex + ") is out of range");
+                }
+                if (selected != null) {
+                    selected.close();
+                }
+                selected = sheets.next();
+            }
+            sheetStream = selected;
+            xml = XML_INPUT_FACTORY.createXMLStreamReader(sheetStream);
+        } catch (OpenXML4JException | SAXException | XMLStreamException e) {
+            pkg.revert();
+            throw new IOException(e);
+        } catch (IOException | RuntimeException e) {
+            pkg.revert();
+            throw e;
+        }
+    }
+
+    private static boolean readDate1904(InputStream workbookData) throws XMLStreamException {
+        XMLStreamReader xml = XML_INPUT_FACTORY.createXMLStreamReader(workbookData);
+        try {
+            while (xml.hasNext()) {
+                if (xml.next() == XMLStreamConstants.START_ELEMENT) {
+                    String name = xml.getLocalName();
+                    if ("workbookPr".equals(name)) {
+                        String value = xml.getAttributeValue(null, "date1904");
+                        return "1".equals(value) || "true".equals(value);
+                    } else if ("sheets".equals(name)) {
+                        return false;
+                    }
+                }
+            }
+            return false;
+        } finally {
+            xml.close();
+        }
+    }
+
+    public void setColumnMask(boolean[] columnMask) {
+        this.columnMask = columnMask;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null && !finished) {
+            try {
+                next = parseRow();
+            } catch (XMLStreamException e) {
+                throw new UncheckedIOException(new IOException(e));
+            }
+            finished = next == null;
+        }
+        return next != null;
+    }
+
+    @Override
+    public Row next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        Row row = next;
+        next = null;
+        return row;
+    }
+
+    private ValueRow parseRow() throws XMLStreamException {
+        while (xml.hasNext()) {
+            int event = xml.next();
+            if (event == XMLStreamConstants.START_ELEMENT && "row".equals(xml.getLocalName())) {
+                String rowRef = xml.getAttributeValue(null, "r");
+                lastRowNum = rowRef != null ? Integer.parseInt(rowRef) - 1 : lastRowNum + 1;
+                return parseCells(new ValueRow(lastRowNum, date1904));
+            } else if (event == XMLStreamConstants.END_ELEMENT && "sheetData".equals(xml.getLocalName())) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    private ValueRow parseCells(ValueRow row) throws XMLStreamException {
+        int column = -1;
+        while (xml.hasNext()) {
+            int event = xml.next();
+            if (event == XMLStreamConstants.START_ELEMENT && "c".equals(xml.getLocalName())) {
+                String cellRef = xml.getAttributeValue(null, "r");
+                column = cellRef != null ? columnOf(cellRef) : column + 1;
+                if (columnMask != null && (column >= columnMask.length || !columnMask[column])) {
+                    skipElement();
+                } else {
+                    parseCell(row.createCell(column), xml.getAttributeValue(null, "t"), xml.getAttributeValue(null, "s"));
+                }
+            } else if (event == XMLStreamConstants.END_ELEMENT && "row".equals(xml.getLocalName())) {
+                break;
+            }
+        }
+        return row;
+    }
+
+    private void skipElement() throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0 && xml.hasNext()) {
+            int event = xml.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+    }
+
+    private void parseCell(ValueCell cell, String type, String style) throws XMLStreamException {
+        String value = null;
+        String formula = null;
+        StringBuilder inlineString = null;
+        while (xml.hasNext()) {
+            int event = xml.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                String name = xml.getLocalName();
+                if ("v".equals(name)) {
+                    value = xml.getElementText();
+                } else if ("f".equals(name)) {
+                    formula = xml.getElementText();
+                } else if ("t".equals(name)) {
+                    if (inlineString == null) {
+                        inlineString = new StringBuilder();
+                    }
+                    inlineString.append(xml.getElementText());
+                }
+            } else if (event == XMLStreamConstants.END_ELEMENT && "c".equals(xml.getLocalName())) {
+                break;
+            }
+        }
+
+        if (type == null || "n".equals(type)) {
+            if (value != null && !value.isEmpty()) {
+                cell.setCellValue(Double.parseDouble(value));
+            }
+        } else if ("s".equals(type)) {
+            if (value != null) {
+                cell.setCellValue(sharedStrings.getEntryAt(Integer.parseInt(value)));
+            }
+        } else if ("inlineStr".equals(type)) {
+            cell.setCellValue(inlineString != null ? inlineString.toString() : "");
+        } else if ("str".equals(type)) {
+            cell.setCellValue(value != null ? value : "");
+        } else if ("b".equals(type)) {
+            if (value != null) {
+                cell.setCellValue("1".equals(value) || "true".equals(value));
+            }
+        } else if ("e".equals(type)) {
+            if (value != null) {
+                cell.setCellErrorValue(FormulaError.forString(value).getCode());
+            }
+        }
+
+        if (formula != null) {
+            CellType resultType = cell.getCellTypeEnum();
+            cell.setFormula(formula, resultType == CellType.BLANK ? CellType.NUMERIC : resultType);
+        }
+
+        if (style != null && styles != null) {
+            cell.setCellStyle(styles.getStyleAt(Integer.parseInt(style)));
+        }
+    }
+
+    private static int columnOf(String cellRef) {
+        int column = 0;
+        for (int i = 0; i < cellRef.length(); i++) {
+            char chr = cellRef.charAt(i);
+            if (chr < 'A' || chr > 'Z') {
+                break;
+            }
+            column = column * 26 + (chr - 'A' + 1);
+        }
+        return column - 1;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            xml.close();
+        } catch (XMLStreamException e) {
+            throw new IOException(e);
+        } finally {
+            try {
+                sheetStream.close();
+            } finally {
+                pkg.revert();
+                if (spooledFile != null) {
+                    Files.deleteIfExists(spooledFile);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,347 @@
+package com.rabbani.xls.engine.stream;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.Comment;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.usermodel.FormulaError;
+import org.apache.poi.ss.usermodel.Hyperlink;
+import org.apache.poi.ss.usermodel.RichTextString;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.util.CellAddress;
+import org.apache.poi.ss.util.CellRangeAddress;
+import org.apache.poi.ss.util.NumberToTextConverter;
+import org.apache.poi.xssf.usermodel.XSSFRichTextString;
+
+import java.util.Calendar;
+import java.util.Date;
+
+public class ValueCell implements Cell {
+
+    private final ValueRow row;
+
+    private final int column;
+
+    private CellType type = CellType.BLANK;
+
+    private CellType formulaResultType;
+
+    private String formula;
+
+    private double numericValue;
+
+    private String stringValue;
+
+    private boolean booleanValue;
+
+    private byte errorValue;
+
+    private CellStyle style;
+
+    ValueCell(ValueRow row, int column) {
+        this.row = row;
+        this.column = column;
+    }
+
+    void setFormula(String formula, CellType resultType) {
+        this.formula = formula;
+        this.formulaResultType = resultType;
+        this.type = CellType.FORMULA;
+    }
+
+    private CellType valueType() {
+        return type == CellType.FORMULA ? formulaResultType : type;
+    }
+
+    private void setValueType(CellType valueType) {
+        if (type == CellType.FORMULA) {
+            formulaResultType = valueType;
+        } else {
+            type = valueType;
+        }
+    }
+
+    private IllegalStateException typeMismatch(CellType expected) {
+        return new IllegalStateException("Cannot get a " + expected + " value from a " + valueType() + " cell");
+    }
+
+    @Override
+    public int getColumnIndex() {
+        return column;
+    }
+
+    @Override
+    public int getRowIndex() {
+        return row.getRowNum();
+    }
+
+    @Override
+    public Sheet getSheet() {
+        return null;
+    }
+
+    @Override
+    public Row getRow() {
+        return row;
+    }
+
+    @Override
+    @SuppressWarnings("deprecation")
+    public void setCellType(int cellType) {
+        setCellType(CellType.forInt(cellType));
+    }
+
+    @Override
+    public void setCellType(CellType cellType) {
+        if (cellType == CellType.FORMULA) {
+            throw new IllegalArgumentException("use setCellFormula to change the cell into a formula cell");
+        }
+        CellType current = valueType();
+        if (cellType == CellType.STRING && current != CellType.STRING) {
+            stringValue = current == CellType.BLANK ? "" : toString();
+        } else if (cellType == CellType.NUMERIC && current == CellType.STRING) {
+            try {
+                numericValue = Double.parseDouble(stringValue);
+            } catch (NumberFormatException e) {
+                throw new IllegalStateException("Cannot convert '" + stringValue + "' into a NUMERIC cell", e);
+            }
+        } else if (cellType == CellType.NUMERIC && current == CellType.BOOLEAN) {
+            numericValue = booleanValue ? 1D : 0D;
+        } else if (cellType == CellType.BOOLEAN && current == CellType.STRING) {
+            booleanValue = Boolean.parseBoolean(stringValue);
+        } else if (cellType == CellType.BOOLEAN && current == CellType.NUMERIC) {
+            booleanValue = numericValue != 0;
+        }
+        formula = null;
+        formulaResultType = null;
+        type = cellType;
+    }
+
+    @Override
+    @SuppressWarnings("deprecation")
+    public int getCellType() {
+        return type.getCode();
+    }
+
+    @Override
+    public CellType getCellTypeEnum() {
+        return type;
+    }
+
+    @Override
+    @SuppressWarnings("deprecation")
+    public int getCachedFormulaResultType() {
+        return getCachedFormulaResultTypeEnum().getCode();
+    }
+
+    @Override
+    public CellType getCachedFormulaResultTypeEnum() {
+        if (type != CellType.FORMULA) {
+            throw new IllegalStateException("Only formula cells have cached results");
+        }
+        return formulaResultType;
+    }
+
+    @Override
+    public void setCellValue(double value) {
+        numericValue = value;
+        setValueType(CellType.NUMERIC);
+    }
+
+    @Override
+    public void setCellValue(Date value) {
+        if (value == null) {
+            setCellType(CellType.BLANK);
+            return;
+        }
+        setCellValue(DateUtil.getExcelDate(value, row.isDate1904()));
+    }
+
+    @Override
+    public void setCellValue(Calendar value) {
+        if (value == null) {
+            setCellType(CellType.BLANK);
+            return;
+        }
+        setCellValue(DateUtil.getExcelDate(value, row.isDate1904()));
+    }
+
+    @Override
+    public void setCellValue(RichTextString value) {
+        setCellValue(value == null ? null : value.getString());
+    }
+
+    @Override
+    public void setCellValue(String value) {
+        if (value == null) {
+            setCellType(CellType.BLANK);
+            return;
+        }
+        stringValue = value;
+        setValueType(CellType.STRING);
+    }
+
+    @Override
+    public void setCellFormula(String formula) {
+        if (formula == null) {
+            setCellType(CellType.BLANK);
+            return;
+        }
+        setFormula(formula, valueType() == CellType.BLANK ? CellType.NUMERIC : valueType());
+    }
+
+    @Override
+    public String getCellFormula() {
+        if (type != CellType.FORMULA) {
+            throw typeMismatch(CellType.FORMULA);
+        }
+        return formula;
+    }
+
+    @Override
+    public double getNumericCellValue() {
+        switch (valueType()) {
+            case BLANK:
+                return 0D;
+            case NUMERIC:
+                return numericValue;
+            default:
+                throw typeMismatch(CellType.NUMERIC);
+        }
+    }
+
+    @Override
+    public Date getDateCellValue() {
+        if (valueType() == CellType.BLANK) {
+            return null;
+        }
+        return DateUtil.getJavaDate(getNumericCellValue(), row.isDate1904());
+    }
+
+    @Override
+    public RichTextString getRichStringCellValue() {
+        return new XSSFRichTextString(getStringCellValue());
+    }
+
+    @Override
+    public String getStringCellValue() {
+        switch (valueType()) {
+            case BLANK:
+                return "";
+            case STRING:
+                return stringValue;
+            default:
+                throw typeMismatch(CellType.STRING);
+        }
+    }
+
+    @Override
+    public void setCellValue(boolean value) {
+        booleanValue = value;
+        setValueType(CellType.BOOLEAN);
+    }
+
+    @Override
+    public void setCellErrorValue(byte value) {
+        errorValue = value;
+        setValueType(CellType.ERROR);
+    }
+
+    @Override
+    public boolean getBooleanCellValue() {
+        switch (valueType()) {
+            case BLANK:
+                return false;
+            case BOOLEAN:
+                return booleanValue;
+            default:
+                throw typeMismatch(CellType.BOOLEAN);
+        }
+    }
+
+    @Override
+    public byte getErrorCellValue() {
+        if (valueType() != CellType.ERROR) {
+            throw typeMismatch(CellType.ERROR);
+        }
+        return errorValue;
+    }
+
+    @Override
+    public void setCellStyle(CellStyle style) {
+        this.style = style;
+    }
+
+    @Override
+    public CellStyle getCellStyle() {
+        return style;
+    }
+
+    @Override
+    public void setAsActiveCell() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public CellAddress getAddress() {
+        return new CellAddress(row.getRowNum(), column);
+    }
+
+    @Override
+    public void setCellComment(Comment comment) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Comment getCellComment() {
+        return null;
+    }
+
+    @Override
+    public void removeCellComment() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Hyperlink getHyperlink() {
+        return null;
+    }
+
+    @Override
+    public void setHyperlink(Hyperlink link) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void removeHyperlink() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public CellRangeAddress getArrayFormulaRange() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean isPartOfArrayFormulaGroup() {
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        switch (valueType()) {
+            case NUMERIC:
+                return NumberToTextConverter.toText(numericValue);
+            case STRING:
+                return stringValue;
+            case BOOLEAN:
+                return booleanValue ? "TRUE" : "FALSE";
+            case ERROR:
+                return FormulaError.forInt(errorValue).getString();
+            default:
+                return "";
+        }
+    }
+}
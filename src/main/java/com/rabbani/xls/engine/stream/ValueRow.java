@@ -0,0 +1,223 @@
+package com.rabbani.xls.engine.stream;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+public class ValueRow implements Row {
+
+    private static final ValueCell[] EMPTY = new ValueCell[0];
+
+    private final boolean date1904;
+
+    private ValueCell[] cells = EMPTY;
+
+    private int rowNum;
+
+    private int lastCellNum;
+
+    public ValueRow(int rowNum) {
+        this(rowNum, false);
+    }
+
+    public ValueRow(int rowNum, boolean date1904) {
+        this.rowNum = rowNum;
+        this.date1904 = date1904;
+    }
+
+    boolean isDate1904() {
+        return date1904;
+    }
+
+    @Override
+    public ValueCell createCell(int column) {
+        if (column < 0) {
+            throw new IllegalArgumentException("Invalid column index " + column);
+        }
+        if (column >= cells.length) {
+            cells = Arrays.copyOf(cells, Math.max(column + 1, cells.length * 2));
+        }
+        ValueCell cell = new ValueCell(this, column);
+        cells[column] = cell;
+        if (column >= lastCellNum) {
+            lastCellNum = column + 1;
+        }
+        return cell;
+    }
+
+    @Override
+    @SuppressWarnings("deprecation")
+    public Cell createCell(int column, int type) {
+        return createCell(column, CellType.forInt(type));
+    }
+
+    @Override
+    public Cell createCell(int column, CellType type) {
+        ValueCell cell = createCell(column);
+        if (type != CellType.FORMULA) {
+            cell.setCellType(type);
+        }
+        return cell;
+    }
+
+    public void clear() {
+        Arrays.fill(cells, 0, lastCellNum, null);
+        lastCellNum = 0;
+    }
+
+    @Override
+    public void removeCell(Cell cell) {
+        int column = cell.getColumnIndex();
+        if (column < cells.length && cells[column] == cell) {
+            cells[column] = null;
+            while (lastCellNum > 0 && cells[lastCellNum - 1] == null) {
+                lastCellNum--;
+            }
+        }
+    }
+
+    @Override
+    public void setRowNum(int rowNum) {
+        this.rowNum = rowNum;
+    }
+
+    @Override
+    public int getRowNum() {
+        return rowNum;
+    }
+
+    @Override
+    public ValueCell getCell(int column) {
+        return column >= 0 && column < lastCellNum ? cells[column] : null;
+    }
+
+    @Override
+    public Cell getCell(int column, MissingCellPolicy policy) {
+        ValueCell cell = getCell(column);
+        switch (policy) {
+            case RETURN_BLANK_AS_NULL:
+                return cell == null || cell.getCellTypeEnum() == CellType.BLANK ? null : cell;
+            case CREATE_NULL_AS_BLANK:
+                return cell == null ? createCell(column) : cell;
+            default:
+                return cell;
+        }
+    }
+
+    @Override
+    public short getFirstCellNum() {
+        for (int i = 0; i < lastCellNum; i++) {
+            if (cells[i] != null) {
+                return (short) i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public short getLastCellNum() {
+        return lastCellNum == 0 ? -1 : (short) lastCellNum;
+    }
+
+    @Override
+    public int getPhysicalNumberOfCells() {
+        int count = 0;
+        for (int i = 0; i < lastCellNum; i++) {
+            if (cells[i] != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public void setHeight(short height) {
+    }
+
+    @Override
+    public void setZeroHeight(boolean zHeight) {
+    }
+
+    @Override
+    public boolean getZeroHeight() {
+        return false;
+    }
+
+    @Override
+    public void setHeightInPoints(float height) {
+    }
+
+    @Override
+    public short getHeight() {
+        return -1;
+    }
+
+    @Override
+    public float getHeightInPoints() {
+        return -1;
+    }
+
+    @Override
+    public boolean isFormatted() {
+        return false;
+    }
+
+    @Override
+    public CellStyle getRowStyle() {
+        return null;
+    }
+
+    @Override
+    public void setRowStyle(CellStyle style) {
+    }
+
+    @Override
+    public Iterator<Cell> cellIterator() {
+        return new Iterator<Cell>() {
+            private int next = advance(0);
+
+            private int advance(int from) {
+                while (from < lastCellNum && cells[from] == null) {
+                    from++;
+                }
+                return from;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return next < lastCellNum;
+            }
+
+            @Override
+            public Cell next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                Cell cell = cells[next];
+                next = advance(next + 1);
+                return cell;
+            }
+        };
+    }
+
+    @Override
+    public Iterator<Cell> iterator() {
+        return cellIterator();
+    }
+
+    @Override
+    public Sheet getSheet() {
+        return null;
+    }
+
+    @Override
+    public int getOutlineLevel() {
+        return 0;
+    }
+}
@@ -3,10 +3,13 @@ package com.rabbani.xls.processor;
 import com.rabbani.xls.annotation.*;
 import com.rabbani.xls.engine.*;
 import com.rabbani.xls.util.IdentifierUtils;
+import com.rabbani.xls.util.NumberUtils;
+import com.rabbani.xls.util.StringPool;
 import com.rabbani.xls.util.StringUtils;
-import com.rabbani.xls.util.UncheckedConsumer;
 import com.squareup.javawriter.JavaWriter;
+import com.squareup.javawriter.StringLiteral;
 import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellType;
 import org.apache.poi.ss.usermodel.Row;
 
 import javax.annotation.processing.*;
@@ -19,22 +22,37 @@ import javax.lang.model.type.TypeMirror;
 import javax.lang.model.util.Elements;
 import javax.lang.model.util.Types;
 import javax.tools.Diagnostic;
+import javax.tools.FileObject;
 import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import java.io.Writer;
 import java.util.*;
 
 import static java.util.Arrays.asList;
 
 @SupportedAnnotationTypes(value = {"com.rabbani.xls.annotation.Xls"})
 @SupportedSourceVersion(SourceVersion.RELEASE_8)
+@SupportedOptions(value = {"xls.generatedPackage"})
 public class MapperProcessor extends AbstractProcessor {
 
     private interface MapperFactoryConstants {
         String GET_METHOD = "get";
+        String TYPE_NAMES_METHOD = "typeNames";
+        String TYPE_NAMES_FIELD = "TYPE_NAMES";
     }
 
     private interface MapperConstants {
         String COLUMN_MAPPERS_REGISTER = "columnMapperRegister";
         String PRE_SORTED_INSTANCE_FIELD = "PRE_SORTED_INSTANCE_FIELD";
+        String DYNAMIC_INSTANCE_CLASS = "DynamicInstance";
+        String COLUMN_SLOTS_FIELD = "columnSlots";
+        String NEW_BATCH_METHOD = "newBatch";
+        String NEW_VIEW_METHOD = "newView";
+        String GET_TYPE_METHOD = "getType";
+        String HAS_FORMATTED_COLUMNS_METHOD = "hasFormattedColumns";
+        String RESET_METHOD = "reset";
+        String RESET_FIELDS_METHOD = "resetFields";
+        String RESET_PROTOTYPE_FIELD = "RESET_PROTOTYPE";
         String ABSTRACT_METHOND_MAPPER = "mapper";
 
         String INSTANCE_WRITE = "write";
@@ -51,6 +69,10 @@ public class MapperProcessor extends AbstractProcessor {
 
     private static final String PACKAGE = "com.rabbani.xls.engine.impl";
 
+    private static final String GENERATED_PACKAGE_OPTION = "xls.generatedPackage";
+
+    private static final String SERVICE_FILE = "META-INF/services/" + MapperFactory.class.getName();
+
     private static final String SERIALIZE_METHOD = "serialize";
 
     private static final String DESERIALIZE_METHOD = "deserialize";
@@ -59,20 +81,34 @@ public class MapperProcessor extends AbstractProcessor {
 
     private static final String DESERIALIZER_CLASS = "__Deserializer";
 
-    private static final String QUALIFIED_SERIALIZER_CLASS = PACKAGE + "." + SERIALIZER_CLASS;
+    private static final String MAPPER_IMPLEMENTATION_PREFIX = "___Mapper";
 
-    private static final String QUALIFIED_DESERIALIZER_CLASS = PACKAGE + "." + DESERIALIZER_CLASS;
+    private static final String BATCH_IMPLEMENTATION_PREFIX = "___Batch";
 
-    private static final String MAPPER_IMPLEMENTATION_PREFIX = "___Mapper";
+    private static final String BATCH_NULLS_SUFFIX = "Nulls";
+
+    private static final String VIEW_IMPLEMENTATION_PREFIX = "___View";
+
+    private static final String BATCH_CAPACITY_FIELD = "capacity";
+
+    private static final String INTERN_POOL_SUFFIX = "Pool";
 
     private static final String MAPPER_FACTORY_CLASSNAME = "AutoMapperFactory";
 
-    private static final String INSTANCE_FACTORY_FIELD = "instanceFactory";
+    private static final String MAPPER_REGISTRY_CLASSNAME = "Registry";
 
     private static final String CASE_SENSITIVE_FIELD = "caseSensitive";
 
+    private static final String NUMBER_TO_TEXT_CONVERTER = "org.apache.poi.ss.util.NumberToTextConverter";
+
     private Map<String, String> typeMaps = new HashMap<>();
 
+    private String generatedPackage;
+
+    private String qualifiedSerializerClass;
+
+    private String qualifiedDeserializerClass;
+
     private Map<String, StaticDerSer> serializerRegistry = new HashMap<>();
 
     private Map<String, StaticDerSer> deserializerRegistry = new HashMap<>();
@@ -83,13 +119,13 @@ public class MapperProcessor extends AbstractProcessor {
 
     private Elements elements;
 
-    private TypeElement mapElement;
-
     private TypeElement classElement;
 
     private TypeElement mapperElement;
 
-    private TypeElement hashMapElement;
+    private TypeElement classValueElement;
+
+    private TypeElement threadLocalElement;
 
     private TypeElement rowElement;
 
@@ -97,18 +133,28 @@ public class MapperProcessor extends AbstractProcessor {
 
     private TypeMirror stringUtilsTypeMirror;
 
+    private TypeMirror numberUtilsTypeMirror;
+
+    private TypeMirror readAbortedType;
+
+    private TypeMirror metricsType;
+
     private TypeElement objectElement;
 
     private TypeMirror wildcardTypeMirror;
 
     private TypeMirror cellTypeMirror;
 
-    private TypeElement uncheckedConsumerElement;
+    private TypeElement cellTypeElement;
 
     private TypeElement columnMapperElement;
 
     private TypeElement instanceElement;
 
+    private TypeElement columnBatchElement;
+
+    private TypeElement rowViewElement;
+
     private TypeMirror byteType;
 
     private TypeMirror shortType;
@@ -139,15 +185,13 @@ public class MapperProcessor extends AbstractProcessor {
 
     private TypeElement deserializeElement;
 
-    private Messager messager;
-
-    private boolean isMapperWritten = false;
+    private Map<TypeKind, TypeElement> serializerSpecializations;
 
-    private static final String CELL_VAR = "cell";
+    private Map<TypeKind, TypeElement> deserializerSpecializations;
 
-    private static final String VALUE_VAR = "value";
+    private Messager messager;
 
-    private static final String CELL_VALUE_STRING_VAR = "cellValue";
+    private boolean isMapperWritten = false;
 
     private IdentifierUtils globalIdentifier = new IdentifierUtils();
 
@@ -157,19 +201,24 @@ public class MapperProcessor extends AbstractProcessor {
         types = processingEnv.getTypeUtils();
         filer = processingEnv.getFiler();
         elements = processingEnv.getElementUtils();
-        mapElement = elements.getTypeElement(Map.class.getName());
         classElement = elements.getTypeElement(Class.class.getName());
         objectElement = elements.getTypeElement(Object.class.getName());
-        hashMapElement = elements.getTypeElement(HashMap.class.getName());
+        classValueElement = elements.getTypeElement(ClassValue.class.getName());
+        threadLocalElement = elements.getTypeElement(ThreadLocal.class.getName());
         instanceElement = elements.getTypeElement(Mapper.Instance.class.getCanonicalName());
+        columnBatchElement = elements.getTypeElement(ColumnBatch.class.getName());
+        rowViewElement = elements.getTypeElement(RowView.class.getName());
         mapperElement = elements.getTypeElement(Mapper.class.getName());
         serializeElement = elements.getTypeElement(Serialize.class.getName());
         deserializeElement = elements.getTypeElement(Deserialize.class.getName());
         stringUtilsTypeMirror = elements.getTypeElement(StringUtils.class.getName()).asType();
-        uncheckedConsumerElement = elements.getTypeElement(UncheckedConsumer.class.getName());
+        numberUtilsTypeMirror = elements.getTypeElement(NumberUtils.class.getName()).asType();
+        readAbortedType = elements.getTypeElement(ReadAbortedException.class.getName()).asType();
+        metricsType = elements.getTypeElement(Metrics.class.getName()).asType();
         wildcardTypeMirror = types.getWildcardType(null, null);
         columnMapperElement = elements.getTypeElement(Mapper.ColumnMapper.class.getCanonicalName());
         cellTypeMirror = elements.getTypeElement(Cell.class.getName()).asType();
+        cellTypeElement = elements.getTypeElement(CellType.class.getName());
         throwableType = elements.getTypeElement(Throwable.class.getName()).asType();
         byteType = elements.getTypeElement(Byte.class.getName()).asType();
         shortType = elements.getTypeElement(Short.class.getName()).asType();
@@ -183,8 +232,20 @@ public class MapperProcessor extends AbstractProcessor {
         rowElement = elements.getTypeElement(Row.class.getName());
         errorHandlerElement = elements.getTypeElement(ErrorHandler.class.getName());
         messager = processingEnv.getMessager();
-        allowedTypes = new TypeMirror[]{byteType, shortType, integerType, floatType, doubleType, characterType, booleanType, stringType};
+        allowedTypes = new TypeMirror[]{byteType, shortType, integerType, longType, floatType, doubleType, characterType, booleanType, stringType};
         initDerSerNecessaryProps();
+        serializerSpecializations = new EnumMap<>(TypeKind.class);
+        serializerSpecializations.put(TypeKind.INT, elements.getTypeElement(IntSerializer.class.getName()));
+        serializerSpecializations.put(TypeKind.LONG, elements.getTypeElement(LongSerializer.class.getName()));
+        serializerSpecializations.put(TypeKind.DOUBLE, elements.getTypeElement(DoubleSerializer.class.getName()));
+        deserializerSpecializations = new EnumMap<>(TypeKind.class);
+        deserializerSpecializations.put(TypeKind.INT, elements.getTypeElement(IntDeserializer.class.getName()));
+        deserializerSpecializations.put(TypeKind.LONG, elements.getTypeElement(LongDeserializer.class.getName()));
+        deserializerSpecializations.put(TypeKind.DOUBLE, elements.getTypeElement(DoubleDeserializer.class.getName()));
+
+        if (generatedPackage == null) {
+            initGeneratedPackage(roundEnv.getElementsAnnotatedWith(Xls.class));
+        }
 
         for (Element domainElement : roundEnv.getElementsAnnotatedWith(Xls.class)) {
             writeMapperDomain((TypeElement) domainElement);
@@ -200,6 +261,32 @@ public class MapperProcessor extends AbstractProcessor {
         return true;
     }
 
+    private void initGeneratedPackage(Set<? extends Element> domainElements) {
+        String option = processingEnv.getOptions().get(GENERATED_PACKAGE_OPTION);
+        if (option != null && !option.trim().isEmpty()) {
+            generatedPackage = option.trim();
+        } else {
+            String[] common = null;
+            int length = 0;
+            for (Element domainElement : domainElements) {
+                String[] segments = elements.getPackageOf(domainElement).getQualifiedName().toString().split("\\.");
+                if (common == null) {
+                    common = segments;
+                    length = segments.length;
+                    continue;
+                }
+                int i = 0;
+                while (i < length && i < segments.length && common[i].equals(segments[i])) {
+                    i++;
+                }
+                length = i;
+            }
+            generatedPackage = (common == null || length == 0 || common[0].isEmpty()) ? PACKAGE : String.join(".", asList(common).subList(0, length));
+        }
+        qualifiedSerializerClass = generatedPackage + "." + SERIALIZER_CLASS;
+        qualifiedDeserializerClass = generatedPackage + "." + DESERIALIZER_CLASS;
+    }
+
     private void initDerSerNecessaryProps() {
         TypeElement serializerElement = elements.getTypeElement(Serializer.class.getName());
         for (Element serializerElementMember : serializerElement.getEnclosedElements()) {
@@ -232,26 +319,48 @@ public class MapperProcessor extends AbstractProcessor {
         try {
             IdentifierUtils identifierUtils = new IdentifierUtils();
             TypeElement mapperFactory = elements.getTypeElement(MapperFactory.class.getName());
-            String qualifiedClassName = PACKAGE + "." + MAPPER_FACTORY_CLASSNAME;
+            String qualifiedClassName = generatedPackage + "." + MAPPER_FACTORY_CLASSNAME;
 
             JavaFileObject source = filer.createSourceFile(qualifiedClassName);
             JavaWriter writer = new JavaWriter(source.openWriter());
-            writer.emitPackage(PACKAGE);
+            writer.emitPackage(generatedPackage);
 
             writer.beginType(MAPPER_FACTORY_CLASSNAME, CLASS_KIND, EnumSet.of(Modifier.PUBLIC), null, mapperFactory.asType().toString());
             writer.emitEmptyLine();
 
-            DeclaredType fieldMap = types.getDeclaredType(mapElement, types.getDeclaredType(classElement, wildcardTypeMirror), types.getDeclaredType(mapperElement, wildcardTypeMirror));
-            writer.emitField(fieldMap.toString(), REGISTER_MAPPER_FIELD, EnumSet.of(Modifier.PRIVATE, Modifier.FINAL, Modifier.STATIC));
+            TypeMirror wildcardMapper = types.getDeclaredType(mapperElement, wildcardTypeMirror);
+            TypeMirror wildcardClass = types.getDeclaredType(classElement, wildcardTypeMirror);
+            DeclaredType registryType = types.getDeclaredType(classValueElement, wildcardMapper);
+            writer.emitField(MAPPER_REGISTRY_CLASSNAME, REGISTER_MAPPER_FIELD, EnumSet.of(Modifier.PRIVATE, Modifier.FINAL, Modifier.STATIC),
+                    "new " + MAPPER_REGISTRY_CLASSNAME + "()");
             writer.emitEmptyLine();
 
-            writer.beginInitializer(true);
-            writer.emitStatement("%s = new %s<>()", REGISTER_MAPPER_FIELD, types.getDeclaredType(hashMapElement));
+            StringJoiner typeNames = new StringJoiner(", ");
             for (String className : typeMaps.keySet()) {
-                String mapperType = typeMaps.get(className);
-                writer.emitStatement("%s.put(%s.class,new %s())", REGISTER_MAPPER_FIELD, className, mapperType);
+                typeNames.add(StringLiteral.forValue(elements.getBinaryName(elements.getTypeElement(className)).toString()).literal());
             }
-            writer.endInitializer();
+            String typeNamesType = types.getDeclaredType(elements.getTypeElement(Set.class.getName()), stringType).toString();
+            writer.emitField(typeNamesType, MapperFactoryConstants.TYPE_NAMES_FIELD, EnumSet.of(Modifier.PRIVATE, Modifier.FINAL, Modifier.STATIC),
+                    String.format("java.util.Collections.unmodifiableSet(new java.util.HashSet<>(java.util.Arrays.asList(%s)))", typeNames));
+            writer.emitEmptyLine();
+
+            String typeIdentifier = identifierUtils.createName("Type");
+            writer.beginType(MAPPER_REGISTRY_CLASSNAME, CLASS_KIND, EnumSet.of(Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL), registryType.toString());
+            writer.emitAnnotation(Override.class);
+            writer.beginMethod(wildcardMapper.toString(), "computeValue", EnumSet.of(Modifier.PROTECTED), wildcardClass.toString(), typeIdentifier);
+            writer.beginControlFlow("switch(%s.getName())", typeIdentifier);
+            for (Map.Entry<String, String> entry : typeMaps.entrySet()) {
+                String className = entry.getKey();
+                writer.beginControlFlow("case %s:", StringLiteral.forValue(elements.getBinaryName(elements.getTypeElement(className)).toString()).literal());
+                writer.emitStatement("return %s == %s.class ? new %s() : null", typeIdentifier, className, entry.getValue());
+                writer.endControlFlow();
+            }
+            writer.beginControlFlow("default:");
+            writer.emitStatement("return null");
+            writer.endControlFlow();
+            writer.endControlFlow();
+            writer.endMethod();
+            writer.endType();
 
 
             Element element = mapperFactory.getEnclosedElements().stream()
@@ -268,8 +377,19 @@ public class MapperProcessor extends AbstractProcessor {
             writer.emitStatement("return (%s)%s.get(%s)", types.getDeclaredType(mapperElement, typeVariable).toString(), REGISTER_MAPPER_FIELD, paramName);
             writer.endMethod();
             writer.emitEmptyLine();
+            writer.emitAnnotation(Override.class);
+            writer.beginMethod(typeNamesType, MapperFactoryConstants.TYPE_NAMES_METHOD, EnumSet.of(Modifier.PUBLIC));
+            writer.emitStatement("return %s", MapperFactoryConstants.TYPE_NAMES_FIELD);
+            writer.endMethod();
+            writer.emitEmptyLine();
             writer.endType();
             writer.close();
+
+            FileObject serviceFile = filer.createResource(StandardLocation.CLASS_OUTPUT, "", SERVICE_FILE);
+            try (Writer serviceWriter = serviceFile.openWriter()) {
+                serviceWriter.write(qualifiedClassName);
+                serviceWriter.write("\n");
+            }
         } catch (Throwable t) {
             throw new RuntimeException(t);
         }
@@ -283,8 +403,9 @@ public class MapperProcessor extends AbstractProcessor {
             String label = (col != null) ? col.value() : fieldName;
             TypeMirror fieldType = field.asType();
 
-            String serializerIdentifier = processSerializer(field);
-            String deserializerIdentifier = processDeserializer(field);
+            MapperScheme.ColumnScheme columnScheme = new MapperScheme.ColumnScheme();
+            String serializerIdentifier = processSerializer(field, columnScheme);
+            String deserializerIdentifier = processDeserializer(field, columnScheme);
             boolean isAccepted = acceptedType(fieldType);
             if (!isAccepted && serializerIdentifier == null) {
                 raiseError(field, "Unsupported field type, please provide serializer for this field");
@@ -294,14 +415,27 @@ public class MapperProcessor extends AbstractProcessor {
                 raiseError(field, "Unsupported field type, please provide deserializer for this field");
             }
 
-            MapperScheme.ColumnScheme columnScheme = new MapperScheme.ColumnScheme();
             columnScheme.label = label;
             columnScheme.type = fieldType;
             columnScheme.name = fieldName;
             columnScheme.canonicalPath = mapperScheme.type + "." + fieldName;
+            columnScheme.declaringType = types.erasure(mapperScheme.type).toString();
             columnScheme.serializerIdentifier = serializerIdentifier;
             columnScheme.deserializerIdentifier = deserializerIdentifier;
-            mapperScheme.properties.put(mapperScheme.caseSensitive ? label : label.toLowerCase(), columnScheme);
+
+            Intern intern = field.getAnnotation(Intern.class);
+            boolean isString = types.isSameType(fieldType, stringType);
+            if (intern != null && !isString) {
+                raiseError(field, "@Intern is only supported on String field");
+            }
+            if (intern != null && intern.value() < 2) {
+                raiseError(field, "@Intern capacity must be greater than 1, got " + intern.value());
+            } else if (intern != null) {
+                columnScheme.internCapacity = intern.value();
+            } else if (mapperScheme.intern && isString) {
+                columnScheme.internCapacity = StringPool.DEFAULT_CAPACITY;
+            }
+            mapperScheme.properties.put(mapperScheme.caseSensitive ? label : label.toLowerCase(Locale.ROOT), columnScheme);
         }
     }
 
@@ -324,6 +458,8 @@ public class MapperProcessor extends AbstractProcessor {
             mapperScheme.properties = new HashMap<>();
             mapperScheme.type = targetTypeMirror;
             mapperScheme.values = xls.columns();
+            mapperScheme.intern = xls.intern();
+            mapperScheme.lazyView = xls.lazyView();
 
             TypeElement scanned = target;
             scannedTypes.push(scanned);
@@ -349,6 +485,14 @@ public class MapperProcessor extends AbstractProcessor {
             String packageName = elements.getPackageOf(target).getQualifiedName().toString();
             String className = target.getSimpleName().toString() + MAPPER_IMPLEMENTATION_PREFIX;
             String qualifiedClassName = packageName + "." + className;
+
+            int slot = 0;
+            for (MapperScheme.ColumnScheme columnScheme : mapperScheme.properties.values()) {
+                columnScheme.slot = slot++;
+                if (columnScheme.internCapacity > 0) {
+                    columnScheme.internPool = qualifiedClassName + "." + columnScheme.name + INTERN_POOL_SUFFIX;
+                }
+            }
             DeclaredType extendedType = types.getDeclaredType(mapperElement, targetTypeMirror);
             typeMaps.put(target.toString(), qualifiedClassName);
 
@@ -357,6 +501,13 @@ public class MapperProcessor extends AbstractProcessor {
             writer.emitPackage(packageName);
             writer.beginType(className, CLASS_KIND, EnumSet.of(Modifier.PUBLIC), extendedType.toString());
             writer.emitEmptyLine();
+            for (MapperScheme.ColumnScheme columnScheme : mapperScheme.properties.values()) {
+                if (columnScheme.internPool != null) {
+                    writer.emitField(StringPool.class.getName(), columnScheme.name + INTERN_POOL_SUFFIX, EnumSet.of(Modifier.STATIC, Modifier.FINAL),
+                            String.format("new %s(%d)", StringPool.class.getName(), columnScheme.internCapacity));
+                }
+            }
+            writer.emitEmptyLine();
             writeStaticInitializationOfSortedMapper(writer, mapperScheme, identifierUtils);
             writer.emitEmptyLine();
             writer.beginConstructor(EnumSet.of(Modifier.PUBLIC));
@@ -366,16 +517,115 @@ public class MapperProcessor extends AbstractProcessor {
             writer.emitEmptyLine();
 
 
-            writeInitImplementation(writer, identifierUtils, mapperScheme);
+            writeDynamicInstance(writer, mapperScheme, identifierUtils);
+            writeResetImplementation(writer, mapperScheme, identifierUtils);
+            writeInitImplementation(writer, mapperScheme);
             writeAbstractMapperImplementation(writer, mapperScheme);
 
             writer.endType();
             writer.close();
+
+            writeBatchClass(packageName, target.getSimpleName().toString() + BATCH_IMPLEMENTATION_PREFIX, mapperScheme);
+            if (mapperScheme.lazyView) {
+                writeViewClass(packageName, target.getSimpleName().toString() + VIEW_IMPLEMENTATION_PREFIX, mapperScheme);
+            }
         } catch (Throwable t) {
             throw new RuntimeException(t);
         }
     }
 
+    private void writeBatchClass(String packageName, String className, MapperScheme mapperScheme) throws Exception {
+        IdentifierUtils identifierUtils = new IdentifierUtils();
+        JavaFileObject source = filer.createSourceFile(packageName + "." + className);
+        JavaWriter writer = new JavaWriter(source.openWriter());
+        writer.emitPackage(packageName);
+        writer.beginType(className, CLASS_KIND, EnumSet.of(Modifier.PUBLIC), types.getDeclaredType(columnBatchElement, mapperScheme.type).toString());
+        writer.emitEmptyLine();
+
+        for (MapperScheme.ColumnScheme columnScheme : mapperScheme.properties.values()) {
+            writer.emitField(batchElementType(columnScheme) + "[]", columnScheme.name, EnumSet.of(Modifier.PUBLIC, Modifier.FINAL));
+            if (isNullableBatchColumn(columnScheme)) {
+                writer.emitField("long[]", columnScheme.name + BATCH_NULLS_SUFFIX, EnumSet.of(Modifier.PUBLIC, Modifier.FINAL));
+            }
+        }
+        writer.emitEmptyLine();
+
+        String capacityIdentifier = identifierUtils.createName("Capacity");
+        writer.beginConstructor(EnumSet.of(Modifier.PUBLIC), "int", capacityIdentifier);
+        writer.emitStatement("super(%s)", capacityIdentifier);
+        for (MapperScheme.ColumnScheme columnScheme : mapperScheme.properties.values()) {
+            writer.emitStatement("this.%s = new %s[%s]", columnScheme.name, batchElementType(columnScheme), capacityIdentifier);
+            if (isNullableBatchColumn(columnScheme)) {
+                writer.emitStatement("this.%s%s = newBitmap(%s)", columnScheme.name, BATCH_NULLS_SUFFIX, capacityIdentifier);
+            }
+        }
+        writer.endConstructor();
+        writer.emitEmptyLine();
+
+        writer.emitAnnotation(Override.class);
+        writer.beginMethod(VOID, "reset", EnumSet.of(Modifier.PROTECTED));
+        for (MapperScheme.ColumnScheme columnScheme : mapperScheme.properties.values()) {
+            TypeMirror elementType = isNullableBatchColumn(columnScheme) ? types.unboxedType(columnScheme.type) : columnScheme.type;
+            String defaultValue = defaultValueOf(elementType);
+            writer.emitStatement("java.util.Arrays.fill(this.%s, 0, super.size, %s)", columnScheme.name, defaultValue);
+            if (isNullableBatchColumn(columnScheme)) {
+                writer.emitStatement("java.util.Arrays.fill(this.%s%s, 0L)", columnScheme.name, BATCH_NULLS_SUFFIX);
+            }
+        }
+        writer.endMethod();
+        writer.emitEmptyLine();
+
+        String rowIdentifier = identifierUtils.createName(rowElement.toString());
+        String errorHandlerIdentifier = identifierUtils.createName(errorHandlerElement.toString());
+        String indexIdentifier = identifierUtils.createName("Index");
+        String columnIdentifier = identifierUtils.createName("Column");
+        String slotsIdentifier = identifierUtils.createName("Slots");
+        writer.emitAnnotation(Override.class);
+        writer.beginMethod(VOID, MapperConstants.INSTANCE_READ, EnumSet.of(Modifier.PROTECTED), rowElement.toString(), rowIdentifier, "int[]", slotsIdentifier, "int", indexIdentifier, errorHandlerElement.toString(), errorHandlerIdentifier);
+        writeRowMetric(writer, mapperScheme, "rowRead");
+        for (MapperScheme.ColumnScheme columnScheme : mapperScheme.properties.values()) {
+            if (isNullableBatchColumn(columnScheme)) {
+                writer.emitStatement("this.%s%s[%s >>> 6] |= 1L << %3$s", columnScheme.name, BATCH_NULLS_SUFFIX, indexIdentifier);
+            }
+        }
+        writer.beginControlFlow("for(int %1$s = 0; %1$s < %2$s.length; %1$s++)", columnIdentifier, slotsIdentifier);
+        writer.beginControlFlow("switch(%s[%s])", slotsIdentifier, columnIdentifier);
+        for (MapperScheme.ColumnScheme columnScheme : mapperScheme.properties.values()) {
+            String cellIdentifier = identifierUtils.createName(cellTypeMirror.toString());
+            String throwIdenfier = identifierUtils.createName(throwableType.toString());
+            String element = "this." + columnScheme.name + "[" + indexIdentifier + "]";
+            String presentStatement = isNullableBatchColumn(columnScheme)
+                    ? String.format("this.%s%s[%s >>> 6] &= ~(1L << %3$s)", columnScheme.name, BATCH_NULLS_SUFFIX, indexIdentifier)
+                    : null;
+            writer.beginControlFlow("case %d:", columnScheme.slot);
+            writer.emitStatement("%s %s = %s.getCell(%s)", cellTypeMirror, cellIdentifier, rowIdentifier, columnIdentifier);
+            String startIdentifier = writeReadTry(writer, identifierUtils);
+            String statusIdentifier = writeCellReader(writer, columnScheme, cellIdentifier, element, presentStatement != null, presentStatement, errorHandlerIdentifier, columnScheme.label, identifierUtils);
+            writeColumnConverted(writer, columnScheme, columnScheme.label, startIdentifier, statusIdentifier);
+            writer.endControlFlow();
+            writeReadErrorHandler(writer, columnScheme, errorHandlerIdentifier, columnScheme.label, cellIdentifier, throwIdenfier, identifierUtils);
+            writer.emitStatement("break");
+            writer.endControlFlow();
+        }
+        writer.endControlFlow();
+        writer.endControlFlow();
+        writer.endMethod();
+        writer.emitEmptyLine();
+        writer.endType();
+        writer.close();
+    }
+
+    private boolean isNullableBatchColumn(MapperScheme.ColumnScheme columnScheme) {
+        return columnScheme.deserializerIdentifier == null && !columnScheme.type.getKind().isPrimitive() && !columnScheme.type.equals(stringType);
+    }
+
+    private String batchElementType(MapperScheme.ColumnScheme columnScheme) {
+        if (isNullableBatchColumn(columnScheme)) {
+            return types.unboxedType(columnScheme.type).toString();
+        }
+        return types.erasure(columnScheme.type).toString();
+    }
+
 
     private void writeAbstractMapperImplementation(JavaWriter writer, MapperScheme mapperScheme) throws Exception {
         TypeMirror returnType = types.getDeclaredType(instanceElement, mapperScheme.type);
@@ -383,10 +633,104 @@ public class MapperProcessor extends AbstractProcessor {
         writer.beginMethod(returnType.toString(), MapperConstants.ABSTRACT_METHOND_MAPPER, EnumSet.of(Modifier.PUBLIC));
         writer.emitStatement("return %s", MapperConstants.PRE_SORTED_INSTANCE_FIELD);
         writer.endMethod();
+        writer.emitEmptyLine();
+
+        writer.emitAnnotation(Override.class);
+        writer.beginMethod(types.getDeclaredType(classElement, mapperScheme.type).toString(), MapperConstants.GET_TYPE_METHOD, EnumSet.of(Modifier.PUBLIC));
+        writer.emitStatement("return %s.class", types.erasure(mapperScheme.type));
+        writer.endMethod();
+        writer.emitEmptyLine();
+
+        if (hasFormattedColumns(mapperScheme)) {
+            writer.emitAnnotation(Override.class);
+            writer.beginMethod("boolean", MapperConstants.HAS_FORMATTED_COLUMNS_METHOD, EnumSet.of(Modifier.PROTECTED));
+            writer.emitStatement("return true");
+            writer.endMethod();
+            writer.emitEmptyLine();
+        }
+
+        writer.emitAnnotation(Override.class);
+        writer.beginMethod(returnType.toString(), MapperConstants.ABSTRACT_METHOND_MAPPER, EnumSet.of(Modifier.PROTECTED), "int[]", MapperConstants.COLUMN_SLOTS_FIELD);
+        writer.emitStatement("return new %s(%s)", MapperConstants.DYNAMIC_INSTANCE_CLASS, MapperConstants.COLUMN_SLOTS_FIELD);
+        writer.endMethod();
+        writer.emitEmptyLine();
+
+        String batchClassName = types.asElement(mapperScheme.type).getSimpleName() + BATCH_IMPLEMENTATION_PREFIX;
+        writer.emitAnnotation(Override.class);
+        writer.beginMethod(batchClassName, MapperConstants.NEW_BATCH_METHOD, EnumSet.of(Modifier.PUBLIC), "int", BATCH_CAPACITY_FIELD);
+        writer.emitStatement("return new %s(%s)", batchClassName, BATCH_CAPACITY_FIELD);
+        writer.endMethod();
+
+        if (mapperScheme.lazyView) {
+            String viewClassName = types.asElement(mapperScheme.type).getSimpleName() + VIEW_IMPLEMENTATION_PREFIX;
+            writer.emitEmptyLine();
+            writer.emitAnnotation(Override.class);
+            writer.beginMethod(viewClassName, MapperConstants.NEW_VIEW_METHOD, EnumSet.of(Modifier.PROTECTED), "int[]", "columnIndexes", errorHandlerElement.toString(), "errorHandler");
+            writer.emitStatement("return new %s(columnIndexes, errorHandler)", viewClassName);
+            writer.endMethod();
+        }
     }
 
+    private void writeViewClass(String packageName, String className, MapperScheme mapperScheme) throws Exception {
+        IdentifierUtils identifierUtils = new IdentifierUtils();
+        JavaFileObject source = filer.createSourceFile(packageName + "." + className);
+        JavaWriter writer = new JavaWriter(source.openWriter());
+        writer.emitPackage(packageName);
+        writer.beginType(className, CLASS_KIND, EnumSet.of(Modifier.PUBLIC), types.getDeclaredType(rowViewElement, mapperScheme.type).toString());
+        writer.emitEmptyLine();
 
-    private String processSerializer(VariableElement variableElement){
+        for (MapperScheme.ColumnScheme columnScheme : mapperScheme.properties.values()) {
+            writer.emitField(columnScheme.type.toString(), columnScheme.name, EnumSet.of(Modifier.PRIVATE));
+        }
+        writer.emitEmptyLine();
+
+        String columnIndexesIdentifier = identifierUtils.createName("ColumnIndexes");
+        String errorHandlerIdentifier = identifierUtils.createName(errorHandlerElement.toString());
+        writer.beginConstructor(EnumSet.of(Modifier.PUBLIC), "int[]", columnIndexesIdentifier, errorHandlerElement.toString(), errorHandlerIdentifier);
+        writer.emitStatement("super(%s, %s)", columnIndexesIdentifier, errorHandlerIdentifier);
+        writer.endConstructor();
+        writer.emitEmptyLine();
+
+        for (MapperScheme.ColumnScheme columnScheme : mapperScheme.properties.values()) {
+            String cellIdentifier = identifierUtils.createName(cellTypeMirror.toString());
+            String throwIdentifier = identifierUtils.createName(throwableType.toString());
+            String handlerIdentifier = identifierUtils.createName(errorHandlerElement.toString());
+            writer.beginMethod(columnScheme.type.toString(), getterName(columnScheme), EnumSet.of(Modifier.PUBLIC));
+            writer.beginControlFlow("if(load(%d))", columnScheme.slot);
+            writer.emitStatement("%s %s = errorHandler()", errorHandlerElement, handlerIdentifier);
+            writer.emitStatement("%s %s = cell(%d)", cellTypeMirror, cellIdentifier, columnScheme.slot);
+            String startIdentifier = writeReadTry(writer, identifierUtils);
+            String statusIdentifier = writeCellReader(writer, columnScheme, cellIdentifier, "this", handlerIdentifier, columnScheme.label, identifierUtils);
+            writeColumnConverted(writer, columnScheme, columnScheme.label, startIdentifier, statusIdentifier);
+            writer.endControlFlow();
+            writeReadErrorHandler(writer, columnScheme, handlerIdentifier, columnScheme.label, cellIdentifier, throwIdentifier, identifierUtils);
+            writer.endControlFlow();
+            writer.emitStatement("return this.%s", columnScheme.name);
+            writer.endMethod();
+            writer.emitEmptyLine();
+        }
+
+        String instanceIdentifier = identifierUtils.createName(mapperScheme.type.toString());
+        writer.emitAnnotation(Override.class);
+        writer.beginMethod(mapperScheme.type.toString(), "get", EnumSet.of(Modifier.PUBLIC));
+        writer.emitStatement("%s %s = new %1$s()", mapperScheme.type, instanceIdentifier);
+        for (MapperScheme.ColumnScheme columnScheme : mapperScheme.properties.values()) {
+            writer.emitStatement("%s.%s = %s()", instanceIdentifier, columnScheme.name, getterName(columnScheme));
+        }
+        writer.emitStatement("return %s", instanceIdentifier);
+        writer.endMethod();
+        writer.emitEmptyLine();
+        writer.endType();
+        writer.close();
+    }
+
+    private String getterName(MapperScheme.ColumnScheme columnScheme) {
+        String prefix = columnScheme.type.getKind() == TypeKind.BOOLEAN ? "is" : "get";
+        return prefix + Character.toUpperCase(columnScheme.name.charAt(0)) + columnScheme.name.substring(1);
+    }
+
+
+    private String processSerializer(VariableElement variableElement, MapperScheme.ColumnScheme columnScheme){
         AnnotationMirror serializer = variableElement.getAnnotationMirrors()
                 .stream()
                 .filter(annotation -> annotation.getAnnotationType().asElement().equals(serializeElement))
@@ -402,11 +746,20 @@ public class MapperProcessor extends AbstractProcessor {
             String iName = serEntry.getKey().getSimpleName().toString();
             if ("param".equals(iName)) {
                 staticDerSer.param = serEntry.getValue().getValue().toString();
+            } else if ("threadSafe".equals(iName)) {
+                staticDerSer.threadSafe = (Boolean) serEntry.getValue().getValue();
             } else if ("value".equals(iName)) {
                 staticDerSer.type = (DeclaredType) serEntry.getValue().getValue();
+            } else if ("format".equals(iName)) {
+                String format = serEntry.getValue().getValue().toString();
+                columnScheme.dataFormat = format.isEmpty() ? null : format;
             }
         }
 
+        if (staticDerSer.type == null || staticDerSer.type.asElement().equals(elements.getTypeElement(Serializer.class.getName()))) {
+            return null;
+        }
+
         TypeMirror fieldTypeMirror = variableElement.asType();
 
 
@@ -421,11 +774,12 @@ public class MapperProcessor extends AbstractProcessor {
         if (!types.isAssignable(fieldTypeMirror, serializeParamType)) {
             raiseError(variableElement, "has serialize of type " + staticDerSer.type.toString() + " type <" + fieldTypeMirror.toString() + "> cannot be assigned to <" + serializeParamType.toString() + ">");
         }
+        columnScheme.serializeMethod = specializedMethod(staticDerSer.type, fieldTypeMirror, serializerSpecializations, SERIALIZE_METHOD);
 
-        return serializerRegistry.computeIfAbsent(staticDerSer.type.toString() + "#" + staticDerSer.param, identifier -> {
-            staticDerSer.name = globalIdentifier.createName(identifier);
+        return serializerRegistry.computeIfAbsent(staticDerSer.type.toString() + "#" + staticDerSer.param + "#" + staticDerSer.threadSafe, identifier -> {
+            staticDerSer.name = globalIdentifier.createName(staticDerSer.type.toString() + "#" + staticDerSer.param);
             return staticDerSer;
-        }).name;
+        }).accessor();
     }
 
     private void validateAccessibleConstructor(TypeElement typeElement, List<? extends TypeMirror> requiredParamTypes) {
@@ -455,7 +809,7 @@ public class MapperProcessor extends AbstractProcessor {
         }
     }
 
-    private String processDeserializer(VariableElement variableElement) {
+    private String processDeserializer(VariableElement variableElement, MapperScheme.ColumnScheme columnScheme) {
         AnnotationMirror deserializer = variableElement.getAnnotationMirrors()
                 .stream()
                 .filter(annotation -> annotation.getAnnotationType().asElement().equals(deserializeElement))
@@ -471,6 +825,8 @@ public class MapperProcessor extends AbstractProcessor {
             String iName = deserEntry.getKey().getSimpleName().toString();
             if ("param".equals(iName)) {
                 staticDerSer.param = deserEntry.getValue().getValue().toString();
+            } else if ("threadSafe".equals(iName)) {
+                staticDerSer.threadSafe = (Boolean) deserEntry.getValue().getValue();
             } else if ("value".equals(iName)) {
                 staticDerSer.type = (DeclaredType) deserEntry.getValue().getValue();
             }
@@ -489,11 +845,21 @@ public class MapperProcessor extends AbstractProcessor {
         if (!types.isAssignable(deserializeParamType, fieldTypeMirror)) {
             raiseError(variableElement, "has deserialize of type " + staticDerSer.type.toString() + " type <" + deserializeParamType.toString() + "> cannot be assigned to <" + fieldTypeMirror.toString() + ">");
         }
+        columnScheme.deserializeMethod = specializedMethod(staticDerSer.type, fieldTypeMirror, deserializerSpecializations, DESERIALIZE_METHOD);
 
-        return deserializerRegistry.computeIfAbsent(staticDerSer.type.toString() + "#" + staticDerSer.param, identifier -> {
-            staticDerSer.name = globalIdentifier.createName(identifier);
+        return deserializerRegistry.computeIfAbsent(staticDerSer.type.toString() + "#" + staticDerSer.param + "#" + staticDerSer.threadSafe, identifier -> {
+            staticDerSer.name = globalIdentifier.createName(staticDerSer.type.toString() + "#" + staticDerSer.param);
             return staticDerSer;
-        }).name;
+        }).accessor();
+    }
+
+    private String specializedMethod(DeclaredType derSerType, TypeMirror fieldType, Map<TypeKind, TypeElement> specializations, String method) {
+        TypeElement specialization = specializations.get(fieldType.getKind());
+        if (specialization == null || !types.isSubtype(types.erasure(derSerType), types.erasure(specialization.asType()))) {
+            return method;
+        }
+        String kind = fieldType.getKind().name();
+        return method + kind.charAt(0) + kind.substring(1).toLowerCase(Locale.ROOT);
     }
 
     private void raiseError(VariableElement element, String message) {
@@ -507,159 +873,414 @@ public class MapperProcessor extends AbstractProcessor {
     }
 
     private void writeInitImplementation(JavaWriter writer,
-                                         IdentifierUtils identifierUtils,
                                          MapperScheme mapperScheme) throws Exception {
 
         writer.beginMethod("void", "init", EnumSet.of(Modifier.PRIVATE));
-        writer.emitStatement("%s = %s::new", INSTANCE_FACTORY_FIELD, mapperScheme.type);
         writer.emitStatement("%s = %s", CASE_SENSITIVE_FIELD, String.valueOf(mapperScheme.caseSensitive));
-        TypeMirror fieldApplierType = types.getDeclaredType(uncheckedConsumerElement, cellTypeMirror, mapperScheme.type);
         DeclaredType mapperApplierType = types.getDeclaredType(columnMapperElement, mapperScheme.type);
         for (Map.Entry<String, MapperScheme.ColumnScheme> columnSchemeEntry : mapperScheme.properties.entrySet()) {
             MapperScheme.ColumnScheme field = columnSchemeEntry.getValue();
-            TypeMirror type = field.type;
-            String label = field.label;
-            String name = field.name;
-            String serializerIdentifier = field.serializerIdentifier;
-            String deserializerIdentifier = field.deserializerIdentifier;
-            TypeKind fieldTypeKind = type.getKind();
-
-            String writerIdentifier = identifierUtils.createName(fieldApplierType + "Writer");
-            writer.beginControlFlow("%s %s = (%s,%s)->", fieldApplierType, writerIdentifier, CELL_VAR, VALUE_VAR);
-            if (serializerIdentifier != null) {
-                writer.emitStatement("%s.%s.%s(%s.%s,%s)", QUALIFIED_SERIALIZER_CLASS, serializerIdentifier, SERIALIZE_METHOD, VALUE_VAR, name, CELL_VAR);
-            } else {
-                if (fieldTypeKind == TypeKind.BYTE || type.equals(byteType)) {
-                    writer.emitStatement("Byte %s = %s.%s", CELL_VALUE_STRING_VAR, VALUE_VAR, name);
-                    writer.beginControlFlow("if(%s != null)", CELL_VALUE_STRING_VAR);
-                    writer.emitStatement("%s.setCellValue(%s)", CELL_VAR, CELL_VALUE_STRING_VAR);
-                    writer.endControlFlow();
-                } else if (fieldTypeKind == TypeKind.SHORT || type.equals(shortType)) {
-                    writer.emitStatement("Short %s = %s.%s", CELL_VALUE_STRING_VAR, VALUE_VAR, name);
-                    writer.beginControlFlow("if(%s != null)", CELL_VALUE_STRING_VAR);
-                    writer.emitStatement("%s.setCellValue(%s)", CELL_VAR, CELL_VALUE_STRING_VAR);
-                    writer.endControlFlow();
-                } else if (fieldTypeKind == TypeKind.INT || type.equals(integerType)) {
-                    writer.emitStatement("Integer %s = %s.%s", CELL_VALUE_STRING_VAR, VALUE_VAR, name);
-                    writer.beginControlFlow("if(%s != null)", CELL_VALUE_STRING_VAR);
-                    writer.emitStatement("%s.setCellValue(%s)", CELL_VAR, CELL_VALUE_STRING_VAR);
-                    writer.endControlFlow();
-                } else if (fieldTypeKind == TypeKind.LONG || type.equals(longType)) {
-                    writer.emitStatement("Long %s = %s.%s", CELL_VALUE_STRING_VAR, VALUE_VAR, name);
-                    writer.beginControlFlow("if(%s != null)", CELL_VALUE_STRING_VAR);
-                    writer.emitStatement("%s.setCellValue(%s)", CELL_VAR, CELL_VALUE_STRING_VAR);
-                    writer.endControlFlow();
-                } else if (fieldTypeKind == TypeKind.FLOAT || type.equals(floatType)) {
-                    writer.emitStatement("Float %s = %s.%s", CELL_VALUE_STRING_VAR, VALUE_VAR, name);
-                    writer.beginControlFlow("if(%s != null)", CELL_VALUE_STRING_VAR);
-                    writer.emitStatement("%s.setCellValue(%s)", CELL_VAR, CELL_VALUE_STRING_VAR);
-                    writer.endControlFlow();
-                } else if (fieldTypeKind == TypeKind.DOUBLE || type.equals(doubleType)) {
-                    writer.emitStatement("Float %s = %s.%s", CELL_VALUE_STRING_VAR, VALUE_VAR, name);
-                    writer.beginControlFlow("if(%s != null)", CELL_VALUE_STRING_VAR);
-                    writer.emitStatement("%s.setCellValue(%s)", CELL_VAR, CELL_VALUE_STRING_VAR);
-                    writer.endControlFlow();
-                } else if (fieldTypeKind == TypeKind.CHAR || type.equals(characterType)) {
-                    writer.emitStatement("Character %s = %s.%s", CELL_VALUE_STRING_VAR, VALUE_VAR, name);
-                    writer.beginControlFlow("if(%s != null)", CELL_VALUE_STRING_VAR);
-                    writer.emitStatement("%s.setCellValue(String.valueOf(%s))", CELL_VAR, CELL_VALUE_STRING_VAR);
-                    writer.endControlFlow();
-                } else if (fieldTypeKind == TypeKind.BOOLEAN || type.equals(booleanType)) {
-                    writer.emitStatement("Boolean %s = %s.%s", CELL_VALUE_STRING_VAR, VALUE_VAR, name);
-                    writer.beginControlFlow("if(%s != null)", CELL_VALUE_STRING_VAR);
-                    writer.emitStatement("%s.setCellValue(%s)", CELL_VAR, CELL_VALUE_STRING_VAR);
-                    writer.endControlFlow();
-                } else if (type.equals(stringType)) {
-                    writer.emitStatement("String %s = %s.%s", CELL_VALUE_STRING_VAR, VALUE_VAR, name);
-                    writer.beginControlFlow("if(%s != null)", CELL_VALUE_STRING_VAR);
-                    writer.emitStatement("%s.setCellValue(%s)", CELL_VAR, CELL_VALUE_STRING_VAR);
-                    writer.endControlFlow();
-                }
+            writer.emitStatement("%s.put(\"%s\",new %s(\"%2$s\",%d))", MapperConstants.COLUMN_MAPPERS_REGISTER, columnSchemeEntry.getKey(), mapperApplierType, field.slot);
+        }
+        writer.endMethod();
+    }
+
+    private void writeDynamicInstance(JavaWriter writer, MapperScheme mapperScheme, IdentifierUtils identifierUtils) throws Exception {
+        TypeMirror instanceType = types.getDeclaredType(instanceElement, mapperScheme.type);
+
+        String rowIdentifier = identifierUtils.createName(rowElement.toString());
+        String targetIdentifier = identifierUtils.createName(mapperScheme.type.toString());
+        String errorHandlerIdentifier = identifierUtils.createName(errorHandlerElement.toString());
+        String columnIdentifier = identifierUtils.createName("Column");
+        String slotsIdentifier = identifierUtils.createName("Slots");
+
+        writer.beginType(MapperConstants.DYNAMIC_INSTANCE_CLASS, CLASS_KIND, EnumSet.of(Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL), null, instanceType.toString());
+        writer.emitEmptyLine();
+        writer.emitField("int[]", MapperConstants.COLUMN_SLOTS_FIELD, EnumSet.of(Modifier.PRIVATE, Modifier.FINAL));
+        writer.emitEmptyLine();
+        writer.beginConstructor(EnumSet.noneOf(Modifier.class), "int[]", MapperConstants.COLUMN_SLOTS_FIELD);
+        writer.emitStatement("this.%s = %1$s", MapperConstants.COLUMN_SLOTS_FIELD);
+        writer.endConstructor();
+        writer.emitEmptyLine();
+
+        String cellStylesIdentifier = writeWriteMethod(writer, mapperScheme, rowIdentifier, targetIdentifier, errorHandlerIdentifier, identifierUtils);
+        writeRowMetric(writer, mapperScheme, "rowWritten");
+        writer.emitStatement("int[] %s = %s", slotsIdentifier, MapperConstants.COLUMN_SLOTS_FIELD);
+        writer.beginControlFlow("for(int %1$s = 0; %1$s < %2$s.length; %1$s++)", columnIdentifier, slotsIdentifier);
+        writer.beginControlFlow("switch(%s[%s])", slotsIdentifier, columnIdentifier);
+        for (MapperScheme.ColumnScheme columnScheme : mapperScheme.properties.values()) {
+            String cellIdentifier = identifierUtils.createName(cellTypeMirror.toString());
+            String throwIdenfier = identifierUtils.createName(throwableType.toString());
+            writer.beginControlFlow("case %d:", columnScheme.slot);
+            writer.emitStatement("%s %s = null", cellTypeMirror, cellIdentifier);
+            writer.beginControlFlow("try");
+            writeCellWriter(writer, columnScheme, rowIdentifier, columnIdentifier, cellIdentifier, targetIdentifier, cellStylesIdentifier);
+            writer.endControlFlow();
+            writer.beginControlFlow("catch(%s %s)", throwableType, throwIdenfier);
+            writer.beginControlFlow("if(%s != null)", errorHandlerIdentifier);
+            writer.emitStatement("%s.handle(\"%s\",%s,%s)", errorHandlerIdentifier, columnScheme.label, cellIdentifier, throwIdenfier);
+            writer.endControlFlow();
+            writer.endControlFlow();
+            writer.emitStatement("break");
+            writer.endControlFlow();
+        }
+        writer.endControlFlow();
+        writer.endControlFlow();
+        writer.endMethod();
+        writer.emitEmptyLine();
+
+        String instanceIdentifier = identifierUtils.createName(mapperScheme.type.toString());
+        String reuseIdentifier = identifierUtils.createName("Reuse");
+        writer.emitAnnotation(Override.class);
+        writer.beginMethod(mapperScheme.type.toString(), MapperConstants.INSTANCE_READ, EnumSet.of(Modifier.PUBLIC), rowElement.toString(), rowIdentifier, mapperScheme.type.toString(), reuseIdentifier, errorHandlerElement.toString(), errorHandlerIdentifier);
+        writeReusedInstance(writer, mapperScheme, instanceIdentifier, reuseIdentifier);
+        writeRowMetric(writer, mapperScheme, "rowRead");
+        writer.emitStatement("int[] %s = %s", slotsIdentifier, MapperConstants.COLUMN_SLOTS_FIELD);
+        writer.beginControlFlow("for(int %1$s = 0; %1$s < %2$s.length; %1$s++)", columnIdentifier, slotsIdentifier);
+        writer.beginControlFlow("switch(%s[%s])", slotsIdentifier, columnIdentifier);
+        for (MapperScheme.ColumnScheme columnScheme : mapperScheme.properties.values()) {
+            String cellIdentifier = identifierUtils.createName(cellTypeMirror.toString());
+            String throwIdenfier = identifierUtils.createName(throwableType.toString());
+            writer.beginControlFlow("case %d:", columnScheme.slot);
+            writer.emitStatement("%s %s = %s.getCell(%s)", cellTypeMirror, cellIdentifier, rowIdentifier, columnIdentifier);
+            String startIdentifier = writeReadTry(writer, identifierUtils);
+            String statusIdentifier = writeCellReader(writer, columnScheme, cellIdentifier, instanceIdentifier, errorHandlerIdentifier, columnScheme.label, identifierUtils);
+            writeColumnConverted(writer, columnScheme, columnScheme.label, startIdentifier, statusIdentifier);
+            writer.endControlFlow();
+            writeReadErrorHandler(writer, columnScheme, errorHandlerIdentifier, columnScheme.label, cellIdentifier, throwIdenfier, identifierUtils);
+            writer.emitStatement("break");
+            writer.endControlFlow();
+        }
+        writer.endControlFlow();
+        writer.endControlFlow();
+        writer.emitStatement("return %s", instanceIdentifier);
+        writer.endMethod();
+        writer.emitEmptyLine();
+        writer.endType();
+        writer.emitEmptyLine();
+    }
+
+    private void writeRowMetric(JavaWriter writer, MapperScheme mapperScheme, String method) throws Exception {
+        writer.beginControlFlow("if(%s.ENABLED)", metricsType);
+        writer.emitStatement("%s.%s(%s.class)", metricsType, method, types.erasure(mapperScheme.type));
+        writer.endControlFlow();
+    }
+
+    private void writeReusedInstance(JavaWriter writer, MapperScheme mapperScheme, String instanceIdentifier, String reuseIdentifier) throws Exception {
+        writer.emitStatement("%s %s = %s", mapperScheme.type, instanceIdentifier, reuseIdentifier);
+        writer.beginControlFlow("if(%s == null)", instanceIdentifier);
+        writer.emitStatement("%s = new %s()", instanceIdentifier, mapperScheme.type);
+        writer.endControlFlow();
+        writer.beginControlFlow("else");
+        writer.emitStatement("%s(%s)", MapperConstants.RESET_FIELDS_METHOD, instanceIdentifier);
+        writer.endControlFlow();
+    }
+
+    private void writeResetImplementation(JavaWriter writer, MapperScheme mapperScheme, IdentifierUtils identifierUtils) throws Exception {
+        String targetIdentifier = identifierUtils.createName(mapperScheme.type.toString());
+        // reused instances get the field initializer values of a fresh instance, so reuse and new decode a row the same way
+        writer.emitField(mapperScheme.type.toString(), MapperConstants.RESET_PROTOTYPE_FIELD, EnumSet.of(Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL),
+                String.format("new %s()", mapperScheme.type));
+        writer.emitEmptyLine();
+        writer.beginMethod(VOID, MapperConstants.RESET_FIELDS_METHOD, EnumSet.of(Modifier.PRIVATE, Modifier.STATIC), mapperScheme.type.toString(), targetIdentifier);
+        for (MapperScheme.ColumnScheme columnScheme : mapperScheme.properties.values()) {
+            writer.emitStatement("%s.%s = %s.%2$s", targetIdentifier, columnScheme.name, MapperConstants.RESET_PROTOTYPE_FIELD);
+        }
+        writer.endMethod();
+        writer.emitEmptyLine();
+
+        writer.emitAnnotation(Override.class);
+        writer.beginMethod(VOID, MapperConstants.RESET_METHOD, EnumSet.of(Modifier.PUBLIC), mapperScheme.type.toString(), targetIdentifier);
+        writer.emitStatement("%s(%s)", MapperConstants.RESET_FIELDS_METHOD, targetIdentifier);
+        writer.endMethod();
+        writer.emitEmptyLine();
+    }
+
+    private String defaultValueOf(TypeMirror type) {
+        switch (type.getKind()) {
+            case BOOLEAN:
+                return "false";
+            case CHAR:
+                return "'\\u0000'";
+            case BYTE:
+                return "(byte) 0";
+            case SHORT:
+                return "(short) 0";
+            case INT:
+                return "0";
+            case LONG:
+                return "0L";
+            case FLOAT:
+                return "0F";
+            case DOUBLE:
+                return "0D";
+            default:
+                return "null";
+        }
+    }
+
+    private String writeWriteMethod(JavaWriter writer, MapperScheme mapperScheme, String rowIdentifier, String targetIdentifier,
+                                    String errorHandlerIdentifier, IdentifierUtils identifierUtils) throws Exception {
+        String cellStylesType = CellStyles.class.getName();
+        String cellStylesIdentifier = identifierUtils.createName(cellStylesType);
+        boolean formatted = hasFormattedColumns(mapperScheme);
+        writer.emitAnnotation(Override.class);
+        writer.beginMethod(VOID, MapperConstants.INSTANCE_WRITE, EnumSet.of(Modifier.PUBLIC), rowElement.toString(), rowIdentifier, mapperScheme.type.toString(), targetIdentifier, errorHandlerElement.toString(), errorHandlerIdentifier);
+        writer.emitStatement("%s(%s, %s, %s, %s)", MapperConstants.INSTANCE_WRITE, rowIdentifier, targetIdentifier,
+                formatted ? cellStylesType + ".of(" + rowIdentifier + ")" : "null", errorHandlerIdentifier);
+        writer.endMethod();
+        writer.emitEmptyLine();
+        writer.emitAnnotation(Override.class);
+        writer.beginMethod(VOID, MapperConstants.INSTANCE_WRITE, EnumSet.of(Modifier.PUBLIC), rowElement.toString(), rowIdentifier, mapperScheme.type.toString(), targetIdentifier, cellStylesType, cellStylesIdentifier, errorHandlerElement.toString(), errorHandlerIdentifier);
+        return cellStylesIdentifier;
+    }
+
+    private boolean hasFormattedColumns(MapperScheme mapperScheme) {
+        for (MapperScheme.ColumnScheme columnScheme : mapperScheme.properties.values()) {
+            if (columnScheme.dataFormat != null) {
+                return true;
             }
-            writer.endControlFlow("");
-
-            String readerIdentifier = identifierUtils.createName(fieldApplierType + "Reader");
-            writer.beginControlFlow("%s %s = (%s,%s)->", fieldApplierType, readerIdentifier, CELL_VAR, VALUE_VAR);
-
-            if (deserializerIdentifier != null) {
-                writer.emitStatement("%s.%s = %s.%s.%s(%s)", VALUE_VAR, name, QUALIFIED_DESERIALIZER_CLASS, deserializerIdentifier, DESERIALIZE_METHOD, CELL_VAR);
-            } else {
-                writer.emitStatement("String %s = %s.getStringCellValue()", CELL_VALUE_STRING_VAR, CELL_VAR);
-                if (fieldTypeKind == TypeKind.BYTE || type.equals(byteType)) {
-                    writer.beginControlFlow("if(!%s.isEmpty(%s))", stringUtilsTypeMirror.toString(), CELL_VALUE_STRING_VAR);
-                    writer.emitStatement("%s.%s = Byte.parseByte(%s)", VALUE_VAR, name, CELL_VALUE_STRING_VAR);
-                    writer.endControlFlow();
-                    writer.beginControlFlow("else");
-                    String setValue = fieldTypeKind.isPrimitive() ? "0" : "null";
-                    writer.emitStatement("%s.%s = %s", VALUE_VAR, name, setValue);
-                    writer.endControlFlow();
-                } else if (fieldTypeKind == TypeKind.SHORT || type.equals(shortType)) {
-                    writer.beginControlFlow("if(!%s.isEmpty(%s))", stringUtilsTypeMirror.toString(), CELL_VALUE_STRING_VAR);
-                    writer.emitStatement("%s.%s = Short.parseShort(%s)", VALUE_VAR, name, CELL_VALUE_STRING_VAR);
-                    writer.endControlFlow();
-                    writer.beginControlFlow("else");
-                    String setValue = fieldTypeKind.isPrimitive() ? "0" : "null";
-                    writer.emitStatement("%s.%s = %s", VALUE_VAR, name, setValue);
-                    writer.endControlFlow();
-                } else if (fieldTypeKind == TypeKind.INT || type.equals(integerType)) {
-                    writer.beginControlFlow("if(!%s.isEmpty(%s))", stringUtilsTypeMirror.toString(), CELL_VALUE_STRING_VAR);
-                    writer.emitStatement("%s.%s = Integer.parseInt(%s)", VALUE_VAR, name, CELL_VALUE_STRING_VAR);
-                    writer.endControlFlow();
-                    writer.beginControlFlow("else");
-                    String setValue = fieldTypeKind.isPrimitive() ? "0" : "null";
-                    writer.emitStatement("%s.%s = %s", VALUE_VAR, name, setValue);
-                    writer.endControlFlow();
-                } else if (fieldTypeKind == TypeKind.LONG || type.equals(longType)) {
-                    writer.beginControlFlow("if(!%s.isEmpty(%s))", stringUtilsTypeMirror.toString(), CELL_VALUE_STRING_VAR);
-                    writer.emitStatement("%s.%s = Long.parseLong(%s)", VALUE_VAR, name, CELL_VALUE_STRING_VAR);
-                    writer.endControlFlow();
-                    writer.beginControlFlow("else");
-                    String setValue = fieldTypeKind.isPrimitive() ? "0L" : "null";
-                    writer.emitStatement("%s.%s = %s", VALUE_VAR, name, setValue);
-                    writer.endControlFlow();
-                } else if (fieldTypeKind == TypeKind.FLOAT || type.equals(floatType)) {
-                    writer.beginControlFlow("if(!%s.isEmpty(%s))", stringUtilsTypeMirror.toString(), CELL_VALUE_STRING_VAR);
-                    writer.emitStatement("%s.%s = Float.parseFloat(%s)", VALUE_VAR, name, CELL_VALUE_STRING_VAR);
-                    writer.endControlFlow();
-                    writer.beginControlFlow("else");
-                    String setValue = fieldTypeKind.isPrimitive() ? "0F" : "null";
-                    writer.emitStatement("%s.%s = %s", VALUE_VAR, name, setValue);
-                    writer.endControlFlow();
-                } else if (fieldTypeKind == TypeKind.DOUBLE || type.equals(doubleType)) {
-                    writer.beginControlFlow("if(!%s.isEmpty(%s))", stringUtilsTypeMirror.toString(), CELL_VALUE_STRING_VAR);
-                    writer.emitStatement("%s.%s = Double.parseDouble(%s)", VALUE_VAR, name, CELL_VALUE_STRING_VAR);
-                    writer.endControlFlow();
-                    writer.beginControlFlow("else");
-                    String setValue = fieldTypeKind.isPrimitive() ? "0D" : "null";
-                    writer.emitStatement("%s.%s = %s", VALUE_VAR, name, setValue);
-                    writer.endControlFlow();
-                } else if (fieldTypeKind == TypeKind.CHAR || type.equals(characterType)) {
-                    writer.beginControlFlow("if(!%s.isEmpty(%s))", stringUtilsTypeMirror.toString(), CELL_VALUE_STRING_VAR);
-                    writer.emitStatement("%s.%s = %s.charAt(0)", VALUE_VAR, name, CELL_VALUE_STRING_VAR);
-                    writer.endControlFlow();
-                    writer.beginControlFlow("else");
-                    String setValue = fieldTypeKind.isPrimitive() ? "\u0000" : "null";
-                    writer.emitStatement("%s.%s = %s", VALUE_VAR, name, setValue);
-                    writer.endControlFlow();
-                } else if (fieldTypeKind == TypeKind.BOOLEAN || type.equals(booleanType)) {
-                    writer.beginControlFlow("if(!%s.isEmpty(%s))", stringUtilsTypeMirror.toString(), CELL_VALUE_STRING_VAR);
-                    writer.emitStatement("%s.%s = Boolean.parseBoolean(%s)", VALUE_VAR, name, CELL_VALUE_STRING_VAR);
-                    writer.endControlFlow();
-                    writer.beginControlFlow("else");
-                    String setValue = fieldTypeKind.isPrimitive() ? "false" : "null";
-                    writer.emitStatement("%s.%s = %s", VALUE_VAR, name, setValue);
-                    writer.endControlFlow();
-                } else if (type.equals(stringType)) {
-                    writer.emitStatement("%s.%s = !%s.isEmpty(%s)?%s:%s", VALUE_VAR, name, stringUtilsTypeMirror.toString(), CELL_VALUE_STRING_VAR, CELL_VALUE_STRING_VAR, "null");
-                }
+        }
+        return false;
+    }
+
+    private void writeCellWriter(JavaWriter writer, MapperScheme.ColumnScheme columnScheme, String rowIdentifier,
+                                 String columnExpression, String cellIdentifier, String targetIdentifier, String cellStylesIdentifier) throws Exception {
+        String field = targetIdentifier + "." + columnScheme.name;
+        if (columnScheme.serializerIdentifier != null) {
+            writer.emitStatement("%s = %s.createCell(%s)", cellIdentifier, rowIdentifier, columnExpression);
+            writeCellFormat(writer, columnScheme, cellIdentifier, cellStylesIdentifier);
+            writer.emitStatement("%s.%s.%s(%s,%s)", qualifiedSerializerClass, columnScheme.serializerIdentifier, columnScheme.serializeMethod, field, cellIdentifier);
+            return;
+        }
+
+        TypeMirror type = columnScheme.type;
+        boolean isPrimitiveType = type.getKind().isPrimitive();
+        boolean isCharacter = type.getKind() == TypeKind.CHAR || type.equals(characterType);
+        if (!isPrimitiveType) {
+            writer.beginControlFlow("if(%s != null)", field);
+        }
+        writer.emitStatement("%s = %s.createCell(%s)", cellIdentifier, rowIdentifier, columnExpression);
+        writeCellFormat(writer, columnScheme, cellIdentifier, cellStylesIdentifier);
+        writer.emitStatement(isCharacter ? "%s.setCellValue(String.valueOf(%s))" : "%s.setCellValue(%s)", cellIdentifier, field);
+        if (!isPrimitiveType) {
+            writer.endControlFlow();
+        }
+    }
+
+    private void writeCellFormat(JavaWriter writer, MapperScheme.ColumnScheme columnScheme, String cellIdentifier, String cellStylesIdentifier) throws Exception {
+        if (columnScheme.dataFormat != null) {
+            writer.beginControlFlow("if(%s != null)", cellStylesIdentifier);
+            writer.emitStatement("%s.setCellStyle(%s.get(%s))", cellIdentifier, cellStylesIdentifier, StringLiteral.forValue(columnScheme.dataFormat).literal());
+            writer.endControlFlow();
+        }
+    }
+
+    private String writeReadTry(JavaWriter writer, IdentifierUtils identifierUtils) throws Exception {
+        String startIdentifier = identifierUtils.createName("Start");
+        writer.emitStatement("long %s = 0L", startIdentifier);
+        writer.beginControlFlow("if(%s.ENABLED)", metricsType);
+        writer.emitStatement("%s = %s.nanoTime()", startIdentifier, System.class.getName());
+        writer.endControlFlow();
+        writer.beginControlFlow("try");
+        return startIdentifier;
+    }
+
+    private void writeReadErrorHandler(JavaWriter writer, MapperScheme.ColumnScheme columnScheme, String errorHandlerIdentifier,
+                                       String column, String cellIdentifier, String throwIdentifier, IdentifierUtils identifierUtils) throws Exception {
+        String abortedIdentifier = identifierUtils.createName(readAbortedType.toString());
+        writer.beginControlFlow("catch(%s %s)", readAbortedType, abortedIdentifier);
+        writer.emitStatement("throw %s", abortedIdentifier);
+        writer.endControlFlow();
+        writer.beginControlFlow("catch(%s %s)", throwableType, throwIdentifier);
+        writeColumnFailed(writer, columnScheme, column);
+        writer.beginControlFlow("if(%s != null)", errorHandlerIdentifier);
+        writer.emitStatement("%s.handle(\"%s\",%s,%s)", errorHandlerIdentifier, column, cellIdentifier, throwIdentifier);
+        writer.endControlFlow();
+        writer.endControlFlow();
+    }
+
+    private void writeColumnConverted(JavaWriter writer, MapperScheme.ColumnScheme columnScheme, String column, String startIdentifier,
+                                      String statusIdentifier) throws Exception {
+        if (statusIdentifier != null) {
+            writer.beginControlFlow("if(%s.ENABLED && %s == %s.OK)", metricsType, statusIdentifier, numberUtilsTypeMirror);
+        } else {
+            writer.beginControlFlow("if(%s.ENABLED)", metricsType);
+        }
+        writer.emitStatement("%s.columnConverted(%s.class, \"%s\", %s)", metricsType, columnScheme.declaringType, column, startIdentifier);
+        writer.endControlFlow();
+    }
+
+    private void writeColumnFailed(JavaWriter writer, MapperScheme.ColumnScheme columnScheme, String column) throws Exception {
+        writer.beginControlFlow("if(%s.ENABLED)", metricsType);
+        writer.emitStatement("%s.columnFailed(%s.class, \"%s\")", metricsType, columnScheme.declaringType, column);
+        writer.endControlFlow();
+    }
+
+    private String writeCellReader(JavaWriter writer, MapperScheme.ColumnScheme columnScheme, String cellIdentifier,
+                                   String targetIdentifier, String errorHandlerIdentifier, String column, IdentifierUtils identifierUtils) throws Exception {
+        return writeCellReader(writer, columnScheme, cellIdentifier, targetIdentifier + "." + columnScheme.name, false, null, errorHandlerIdentifier, column, identifierUtils);
+    }
+
+    private String writeCellReader(JavaWriter writer, MapperScheme.ColumnScheme columnScheme, String cellIdentifier,
+                                   String field, boolean unboxed, String presentStatement, String errorHandlerIdentifier,
+                                   String column, IdentifierUtils identifierUtils) throws Exception {
+        if (columnScheme.deserializerIdentifier != null) {
+            String deserialized = String.format("%s.%s.%s(%s)", qualifiedDeserializerClass, columnScheme.deserializerIdentifier, columnScheme.deserializeMethod, cellIdentifier);
+            writer.emitStatement("%s = %s", field, columnScheme.internPool != null ? columnScheme.internPool + ".intern(" + deserialized + ")" : deserialized);
+            return null;
+        }
+
+        TypeMirror type = columnScheme.type;
+        TypeKind typeKind = type.getKind();
+        boolean isPrimitiveType = typeKind.isPrimitive() || unboxed;
+        String numericValue = null;
+        String booleanValue = null;
+        String parsedValue;
+        String checkedValue = null;
+        String integralCast = null;
+        String fallbackValue = "null";
+        if (typeKind == TypeKind.BYTE || type.equals(byteType)) {
+            integralCast = "(byte) %s";
+            booleanValue = "(byte) (%s.getBooleanCellValue() ? 1 : 0)";
+            parsedValue = "Byte.parseByte(%s)";
+            checkedValue = "checkInteger(%s, Byte.MIN_VALUE, Byte.MAX_VALUE)";
+            fallbackValue = isPrimitiveType ? "0" : fallbackValue;
+        } else if (typeKind == TypeKind.SHORT || type.equals(shortType)) {
+            integralCast = "(short) %s";
+            booleanValue = "(short) (%s.getBooleanCellValue() ? 1 : 0)";
+            parsedValue = "Short.parseShort(%s)";
+            checkedValue = "checkInteger(%s, Short.MIN_VALUE, Short.MAX_VALUE)";
+            fallbackValue = isPrimitiveType ? "0" : fallbackValue;
+        } else if (typeKind == TypeKind.INT || type.equals(integerType)) {
+            integralCast = "(int) %s";
+            booleanValue = "%s.getBooleanCellValue() ? 1 : 0";
+            parsedValue = "Integer.parseInt(%s)";
+            checkedValue = "checkInteger(%s, Integer.MIN_VALUE, Integer.MAX_VALUE)";
+            fallbackValue = isPrimitiveType ? "0" : fallbackValue;
+        } else if (typeKind == TypeKind.LONG || type.equals(longType)) {
+            integralCast = "(long) %s";
+            booleanValue = "%s.getBooleanCellValue() ? 1L : 0L";
+            parsedValue = "Long.parseLong(%s)";
+            checkedValue = "checkInteger(%s, Long.MIN_VALUE, Long.MAX_VALUE)";
+            fallbackValue = isPrimitiveType ? "0L" : fallbackValue;
+        } else if (typeKind == TypeKind.FLOAT || type.equals(floatType)) {
+            numericValue = "(float) %s.getNumericCellValue()";
+            booleanValue = "%s.getBooleanCellValue() ? 1F : 0F";
+            parsedValue = "Float.parseFloat(%s)";
+            checkedValue = "checkDecimal(%s)";
+            fallbackValue = isPrimitiveType ? "0F" : fallbackValue;
+        } else if (typeKind == TypeKind.DOUBLE || type.equals(doubleType)) {
+            numericValue = "%s.getNumericCellValue()";
+            booleanValue = "%s.getBooleanCellValue() ? 1D : 0D";
+            parsedValue = "Double.parseDouble(%s)";
+            checkedValue = "checkDecimal(%s)";
+            fallbackValue = isPrimitiveType ? "0D" : fallbackValue;
+        } else if (typeKind == TypeKind.CHAR || type.equals(characterType)) {
+            parsedValue = "%s.charAt(0)";
+            fallbackValue = isPrimitiveType ? "'\\u0000'" : fallbackValue;
+        } else if (typeKind == TypeKind.BOOLEAN || type.equals(booleanType)) {
+            numericValue = "%s.getNumericCellValue() != 0";
+            booleanValue = "%s.getBooleanCellValue()";
+            parsedValue = "Boolean.parseBoolean(%s)";
+            fallbackValue = isPrimitiveType ? "false" : fallbackValue;
+        } else {
+            numericValue = NUMBER_TO_TEXT_CONVERTER + ".toText(%s.getNumericCellValue())";
+            booleanValue = "String.valueOf(%s.getBooleanCellValue())";
+            parsedValue = "%s";
+            if (columnScheme.internPool != null) {
+                numericValue = columnScheme.internPool + ".intern(" + numericValue + ")";
+                parsedValue = columnScheme.internPool + ".intern(%s)";
             }
+        }
 
-            writer.endControlFlow("");
-            writer.emitStatement("%s.put(\"%s\",new %s(\"%2$s\",%s,%s))", MapperConstants.COLUMN_MAPPERS_REGISTER, mapperScheme.caseSensitive ? label : label.toLowerCase(), mapperApplierType, readerIdentifier, writerIdentifier);
+        String statusIdentifier = null;
+        if (checkedValue != null) {
+            statusIdentifier = identifierUtils.createName("Status");
+            writer.emitStatement("int %s = %s.OK", statusIdentifier, numberUtilsTypeMirror);
         }
-        writer.endMethod();
+        String cellTypeIdentifier = identifierUtils.createName(cellTypeElement.toString());
+        writer.beginControlFlow("if(%s == null)", cellIdentifier);
+        writer.emitStatement("%s = %s", field, fallbackValue);
+        writer.endControlFlow();
+        writer.beginControlFlow("else");
+        writer.emitStatement("%s %s = %s.getCellTypeEnum()", cellTypeElement, cellTypeIdentifier, cellIdentifier);
+        writer.beginControlFlow("if(%s == %s.FORMULA)", cellTypeIdentifier, cellTypeElement);
+        writer.emitStatement("%s = %s.getCachedFormulaResultTypeEnum()", cellTypeIdentifier, cellIdentifier);
+        writer.endControlFlow();
+        writer.beginControlFlow("switch(%s)", cellTypeIdentifier);
+        if (integralCast != null) {
+            String numericIdentifier = identifierUtils.createName("Numeric");
+            writer.beginControlFlow("case NUMERIC:");
+            writer.emitStatement("double %s = %s.getNumericCellValue()", numericIdentifier, cellIdentifier);
+            writer.emitStatement("%s = %s." + checkedValue, statusIdentifier, numberUtilsTypeMirror, numericIdentifier);
+            writeStatusFailure(writer, columnScheme, field, fallbackValue, statusIdentifier, errorHandlerIdentifier, column, cellIdentifier);
+            writer.beginControlFlow("else");
+            writer.emitStatement("%s = " + integralCast, field, numericIdentifier);
+            if (presentStatement != null) {
+                writer.emitStatement(presentStatement);
+            }
+            writer.endControlFlow();
+            writer.emitStatement("break");
+            writer.endControlFlow();
+        } else if (numericValue != null) {
+            writer.beginControlFlow("case NUMERIC:");
+            writer.emitStatement("%s = " + numericValue, field, cellIdentifier);
+            if (presentStatement != null) {
+                writer.emitStatement(presentStatement);
+            }
+            writer.emitStatement("break");
+            writer.endControlFlow();
+        }
+        if (booleanValue != null) {
+            writer.beginControlFlow("case BOOLEAN:");
+            writer.emitStatement("%s = " + booleanValue, field, cellIdentifier);
+            if (presentStatement != null) {
+                writer.emitStatement(presentStatement);
+            }
+            writer.emitStatement("break");
+            writer.endControlFlow();
+        }
+        writer.beginControlFlow("case BLANK:");
+        writer.emitStatement("%s = %s", field, fallbackValue);
+        writer.emitStatement("break");
+        writer.endControlFlow();
+        writer.beginControlFlow("default:");
+        String cellRawValueIdentifier = identifierUtils.createName(stringType.toString());
+        writer.emitStatement("%s %s = %s.getStringCellValue()", stringType, cellRawValueIdentifier, cellIdentifier);
+        writer.beginControlFlow("if(%s.isEmpty(%s))", stringUtilsTypeMirror, cellRawValueIdentifier);
+        writer.emitStatement("%s = %s", field, fallbackValue);
+        writer.endControlFlow();
+        if (checkedValue != null) {
+            writer.beginControlFlow("else");
+            writer.emitStatement("%s = %s." + checkedValue, statusIdentifier, numberUtilsTypeMirror, cellRawValueIdentifier);
+            writeStatusFailure(writer, columnScheme, field, fallbackValue, statusIdentifier, errorHandlerIdentifier, column, cellIdentifier);
+        }
+        writer.beginControlFlow("else");
+        writer.emitStatement("%s = " + parsedValue, field, cellRawValueIdentifier);
+        if (presentStatement != null) {
+            writer.emitStatement(presentStatement);
+        }
+        writer.endControlFlow();
+        if (checkedValue != null) {
+            writer.endControlFlow();
+        }
+        writer.endControlFlow();
+        writer.endControlFlow();
+        writer.endControlFlow();
+        return statusIdentifier;
     }
 
+    private void writeStatusFailure(JavaWriter writer, MapperScheme.ColumnScheme columnScheme, String field, String fallbackValue,
+                                    String statusIdentifier, String errorHandlerIdentifier, String column, String cellIdentifier) throws Exception {
+        writer.beginControlFlow("if(%s != %s.OK)", statusIdentifier, numberUtilsTypeMirror);
+        writer.emitStatement("%s = %s", field, fallbackValue);
+        writeColumnFailed(writer, columnScheme, column);
+        writer.beginControlFlow("if(%s != null)", errorHandlerIdentifier);
+        writer.emitStatement("%s.handle(\"%s\",%s,%s)", errorHandlerIdentifier, column, cellIdentifier, statusIdentifier);
+        writer.endControlFlow();
+        writer.endControlFlow();
+    }
 
     private void writeStaticInitializationOfSortedMapper(JavaWriter writer, MapperScheme mapperScheme, IdentifierUtils identifierUtils) throws Exception {
         TypeMirror instanceType = types.getDeclaredType(instanceElement, mapperScheme.type);
@@ -674,8 +1295,8 @@ public class MapperProcessor extends AbstractProcessor {
         writer.beginControlFlow("%s = new %s()", MapperConstants.PRE_SORTED_INSTANCE_FIELD, instanceType);
 
         writer.emitEmptyLine();
-        writer.emitAnnotation(Override.class);
-        writer.beginMethod(VOID, MapperConstants.INSTANCE_WRITE, EnumSet.of(Modifier.PUBLIC), rowElement.toString(), rowIdentifier, mapperScheme.type.toString(), targetIdentifier, errorHandlerElement.toString(), errorHandlerIdentifier);
+        String cellStylesIdentifier = writeWriteMethod(writer, mapperScheme, rowIdentifier, targetIdentifier, errorHandlerIdentifier, identifierUtils);
+        writeRowMetric(writer, mapperScheme, "rowWritten");
         Collection<String> columns = Arrays.asList(mapperScheme.values);
         if (columns.isEmpty()) {
             columns = mapperScheme.properties.keySet();
@@ -683,28 +1304,13 @@ public class MapperProcessor extends AbstractProcessor {
 
         int i = 0;
         for (String column : columns) {
-            MapperScheme.ColumnScheme columnScheme = mapperScheme.properties.get(mapperScheme.caseSensitive ? column : column.toLowerCase());
+            MapperScheme.ColumnScheme columnScheme = mapperScheme.properties.get(mapperScheme.caseSensitive ? column : column.toLowerCase(Locale.ROOT));
             if (columnScheme != null) {
-                String serializerIdentifier = columnScheme.serializerIdentifier;
-                boolean isPrimitiveType = columnScheme.type.getKind().isPrimitive();
-                String name = columnScheme.name;
                 String cellIdentifier = identifierUtils.createName(cellTypeMirror.toString());
                 String throwIdenfier = identifierUtils.createName(throwableType.toString());
                 writer.emitStatement("%s %s = null", cellTypeMirror, cellIdentifier);
                 writer.beginControlFlow("try");
-                if (columnScheme.serializerIdentifier != null) {
-                    writer.emitStatement("%s = %s.createCell(%d)", cellIdentifier, rowIdentifier, i);
-                    writer.emitStatement("%s.%s.%s(%s.%s,%s)", QUALIFIED_SERIALIZER_CLASS, serializerIdentifier, SERIALIZE_METHOD, targetIdentifier, name, cellIdentifier);
-                } else {
-                    if (!isPrimitiveType) {
-                        writer.beginControlFlow("if(%s.%s != null)", targetIdentifier, name);
-                    }
-                    writer.emitStatement("%s = %s.createCell(%d)", cellIdentifier, rowIdentifier, i);
-                    writer.emitStatement("%s.setCellValue(%s.%s)", cellIdentifier, targetIdentifier, name);
-                    if (!isPrimitiveType) {
-                        writer.endControlFlow();
-                    }
-                }
+                writeCellWriter(writer, columnScheme, rowIdentifier, String.valueOf(i), cellIdentifier, targetIdentifier, cellStylesIdentifier);
                 writer.endControlFlow();
                 writer.beginControlFlow("catch(%s %s)", throwableType, throwIdenfier);
                 writer.beginControlFlow("if(%s != null)", errorHandlerIdentifier);
@@ -720,67 +1326,23 @@ public class MapperProcessor extends AbstractProcessor {
         writer.endMethod();
         writer.emitEmptyLine();
         writer.emitAnnotation(Override.class);
-        writer.beginMethod(mapperScheme.type.toString(), MapperConstants.INSTANCE_READ, EnumSet.of(Modifier.PUBLIC), rowElement.toString(), rowIdentifier, errorHandlerElement.toString(), errorHandlerIdentifier);
         i = 0;
         String instanceIdentifier = identifierUtils.createName(mapperScheme.type.toString());
-        writer.emitStatement("%s %s = new %1$s()", mapperScheme.type, instanceIdentifier);
+        String reuseIdentifier = identifierUtils.createName("Reuse");
+        writer.beginMethod(mapperScheme.type.toString(), MapperConstants.INSTANCE_READ, EnumSet.of(Modifier.PUBLIC), rowElement.toString(), rowIdentifier, mapperScheme.type.toString(), reuseIdentifier, errorHandlerElement.toString(), errorHandlerIdentifier);
+        writeReusedInstance(writer, mapperScheme, instanceIdentifier, reuseIdentifier);
+        writeRowMetric(writer, mapperScheme, "rowRead");
         for (String column : columns) {
-            MapperScheme.ColumnScheme columnScheme = mapperScheme.properties.get(mapperScheme.caseSensitive ? column : column.toLowerCase());
+            MapperScheme.ColumnScheme columnScheme = mapperScheme.properties.get(mapperScheme.caseSensitive ? column : column.toLowerCase(Locale.ROOT));
             if (columnScheme != null) {
-                String deserializerIdentifier = columnScheme.deserializerIdentifier;
-                TypeMirror type = columnScheme.type;
-                TypeKind typeKind = type.getKind();
-                String name = columnScheme.name;
                 String cellIdentifier = identifierUtils.createName(cellTypeMirror.toString());
                 String throwIdenfier = identifierUtils.createName(throwableType.toString());
                 writer.emitStatement("%s %s = %s.getCell(%d)", cellTypeMirror, cellIdentifier, rowIdentifier, i);
-                writer.beginControlFlow("try");
-
-                if (deserializerIdentifier != null) {
-                    writer.emitStatement("%s.%s = %s.%s.%s(%s)", instanceIdentifier, name, QUALIFIED_DESERIALIZER_CLASS, deserializerIdentifier, DESERIALIZE_METHOD, cellIdentifier);
-                } else {
-                    String cellRawValueIdentifier = identifierUtils.createName(stringType.toString());
-                    writer.emitStatement("%s %s = %s.getStringCellValue()", stringType, cellRawValueIdentifier, cellIdentifier);
-                    writer.beginControlFlow("if(!%s.isEmpty(%s))", stringUtilsTypeMirror, cellRawValueIdentifier);
-                    String fallbackValue = null;
-                    if (typeKind == TypeKind.BYTE || type.equals(byteType)) {
-                        writer.emitStatement("%s.%s = Byte.parseByte(%s)", instanceIdentifier, name, cellRawValueIdentifier);
-                        fallbackValue = typeKind.isPrimitive() ? "0" : "null";
-                    } else if (typeKind == TypeKind.SHORT || type.equals(shortType)) {
-                        writer.emitStatement("%s.%s = Short.parseShort(%s)", instanceIdentifier, name, cellRawValueIdentifier);
-                        fallbackValue = typeKind.isPrimitive() ? "0" : "null";
-                    } else if (typeKind == TypeKind.INT || type.equals(integerType)) {
-                        writer.emitStatement("%s.%s = Integer.parseInt(%s)", instanceIdentifier, name, cellRawValueIdentifier);
-                        fallbackValue = typeKind.isPrimitive() ? "0" : "null";
-                    } else if (typeKind == TypeKind.LONG || type.equals(longType)) {
-                        writer.emitStatement("%s.%s = Long.parseLong(%s)", instanceIdentifier, name, cellRawValueIdentifier);
-                        fallbackValue = typeKind.isPrimitive() ? "0L" : "null";
-                    } else if (typeKind == TypeKind.FLOAT || type.equals(floatType)) {
-                        writer.emitStatement("%s.%s = Float.parseFloat(%s)", instanceIdentifier, name, cellRawValueIdentifier);
-                        fallbackValue = typeKind.isPrimitive() ? "0F" : "null";
-                    } else if (typeKind == TypeKind.DOUBLE || type.equals(doubleType)) {
-                        writer.emitStatement("%s.%s = Double.parseDouble(%s)", instanceIdentifier, name, cellRawValueIdentifier);
-                        fallbackValue = typeKind.isPrimitive() ? "0D" : "null";
-                    } else if (typeKind == TypeKind.CHAR || type.equals(characterType)) {
-                        writer.emitStatement("%s.%s = %s.charAt(0)", instanceIdentifier, name, cellRawValueIdentifier);
-                        fallbackValue = typeKind.isPrimitive() ? "\u0000" : "null";
-                    } else if (typeKind == TypeKind.BOOLEAN || type.equals(booleanType)) {
-                        writer.emitStatement("%s.%s = Boolean.parseBoolean(%s)", instanceIdentifier, name, cellRawValueIdentifier);
-                        fallbackValue = typeKind.isPrimitive() ? "false" : "null";
-                    } else if (type.equals(stringType)) {
-                        writer.emitStatement("%s.%s = %s", instanceIdentifier, name, cellRawValueIdentifier);
-                    }
-                    writer.endControlFlow();
-                    writer.beginControlFlow("else");
-                    writer.emitStatement("%s.%s = %s", instanceIdentifier, name, fallbackValue);
-                    writer.endControlFlow();
-                }
-                writer.endControlFlow();
-                writer.beginControlFlow("catch(%s %s)", throwableType, throwIdenfier);
-                writer.beginControlFlow("if(%s != null)", errorHandlerIdentifier);
-                writer.emitStatement("%s.handle(\"%s\",%s,%s)", errorHandlerIdentifier, column, cellIdentifier, throwIdenfier);
-                writer.endControlFlow();
+                String startIdentifier = writeReadTry(writer, identifierUtils);
+                String statusIdentifier = writeCellReader(writer, columnScheme, cellIdentifier, instanceIdentifier, errorHandlerIdentifier, column, identifierUtils);
+                writeColumnConverted(writer, columnScheme, column, startIdentifier, statusIdentifier);
                 writer.endControlFlow();
+                writeReadErrorHandler(writer, columnScheme, errorHandlerIdentifier, column, cellIdentifier, throwIdenfier, identifierUtils);
 
                 writer.emitEmptyLine();
                 writer.emitEmptyLine();
@@ -801,14 +1363,14 @@ public class MapperProcessor extends AbstractProcessor {
         }
         JavaWriter codeWriter = null;
         try {
-            JavaFileObject source = filer.createSourceFile(QUALIFIED_SERIALIZER_CLASS);
+            JavaFileObject source = filer.createSourceFile(qualifiedSerializerClass);
             codeWriter = new JavaWriter(source.openWriter());
-            codeWriter.emitPackage(PACKAGE);
+            codeWriter.emitPackage(generatedPackage);
             codeWriter.emitEmptyLine();
             codeWriter.beginType(SERIALIZER_CLASS, INTEFACE_KIND, EnumSet.of(Modifier.PUBLIC));
             for (Map.Entry<String, StaticDerSer> entry : serializerRegistry.entrySet()) {
                 StaticDerSer derSer = entry.getValue();
-                codeWriter.emitField(derSer.type.toString(), derSer.name, EnumSet.of(Modifier.PUBLIC, Modifier.FINAL), String.format("new %s(\"%s\")", derSer.type.toString(), derSer.param));
+                writeDerSerField(codeWriter, derSer);
             }
             codeWriter.endType();
         } catch (Exception e) {
@@ -830,14 +1392,14 @@ public class MapperProcessor extends AbstractProcessor {
         }
         JavaWriter codeWriter = null;
         try {
-            JavaFileObject source = filer.createSourceFile(QUALIFIED_DESERIALIZER_CLASS);
+            JavaFileObject source = filer.createSourceFile(qualifiedDeserializerClass);
             codeWriter = new JavaWriter(source.openWriter());
-            codeWriter.emitPackage(PACKAGE);
+            codeWriter.emitPackage(generatedPackage);
             codeWriter.emitEmptyLine();
             codeWriter.beginType(DESERIALIZER_CLASS, INTEFACE_KIND, EnumSet.of(Modifier.PUBLIC));
             for (Map.Entry<String, StaticDerSer> entry : deserializerRegistry.entrySet()) {
                 StaticDerSer derSer = entry.getValue();
-                codeWriter.emitField(derSer.type.toString(), derSer.name, EnumSet.of(Modifier.PUBLIC, Modifier.FINAL), String.format("new %s(\"%s\")", derSer.type.toString(), derSer.param));
+                writeDerSerField(codeWriter, derSer);
             }
             codeWriter.endType();
         } catch (Exception e) {
@@ -854,10 +1416,25 @@ public class MapperProcessor extends AbstractProcessor {
     }
 
 
+    private void writeDerSerField(JavaWriter codeWriter, StaticDerSer derSer) throws Exception {
+        String initialization = String.format("new %s(%s)", derSer.type.toString(), StringLiteral.forValue(derSer.param).literal());
+        if (derSer.threadSafe) {
+            codeWriter.emitField(derSer.type.toString(), derSer.name, EnumSet.of(Modifier.PUBLIC, Modifier.FINAL), initialization);
+        } else {
+            codeWriter.emitField(types.getDeclaredType(threadLocalElement, derSer.type).toString(), derSer.name, EnumSet.of(Modifier.PUBLIC, Modifier.FINAL),
+                    String.format("%s.withInitial(() -> %s)", threadLocalElement, initialization));
+        }
+    }
+
     static class StaticDerSer {
         String name;
         DeclaredType type;
-        String param;
+        String param = "";
+        boolean threadSafe = true;
+
+        String accessor() {
+            return threadSafe ? name : name + ".get()";
+        }
     }
 
     private boolean acceptedType(TypeMirror checked) {
@@ -7,6 +7,8 @@ class MapperScheme {
     String[] values;
     TypeMirror type;
     boolean caseSensitive;
+    boolean intern;
+    boolean lazyView;
     Map<String, ColumnScheme> properties;
 
     static class ColumnScheme {
@@ -14,8 +16,15 @@ class MapperScheme {
         String name;
         TypeMirror type;
         String canonicalPath;
+        String declaringType;
         String serializerIdentifier;
         String deserializerIdentifier;
+        String serializeMethod;
+        String deserializeMethod;
+        String dataFormat;
+        int slot;
+        String internPool;
+        int internCapacity;
 
     }
 
@@ -0,0 +1,147 @@
+package com.rabbani.xls.util;
+
+public interface NumberUtils {
+
+    int OK = 0;
+
+    int EMPTY = 1;
+
+    int INVALID_FORMAT = 2;
+
+    int OUT_OF_RANGE = 3;
+
+    static String describe(int status) {
+        switch (status) {
+            case OK:
+                return "ok";
+            case EMPTY:
+                return "empty value";
+            case INVALID_FORMAT:
+                return "invalid number format";
+            case OUT_OF_RANGE:
+                return "number out of range";
+            default:
+                return "unknown status " + status;
+        }
+    }
+
+    static int checkInteger(String text, long min, long max) {
+        if (text == null || text.isEmpty()) {
+            return EMPTY;
+        }
+        int length = text.length();
+        int i = 0;
+        boolean negative = false;
+        char first = text.charAt(0);
+        if (first == '-' || first == '+') {
+            if (length == 1) {
+                return INVALID_FORMAT;
+            }
+            negative = first == '-';
+            i++;
+        }
+
+        long limit = negative ? min : -max;
+        long multiplyLimit = limit / 10;
+        long result = 0;
+        boolean overflow = false;
+        for (; i < length; i++) {
+            int digit = Character.digit(text.charAt(i), 10);
+            if (digit < 0) {
+                return INVALID_FORMAT;
+            }
+            if (overflow) {
+                continue;
+            }
+            if (result < multiplyLimit) {
+                overflow = true;
+                continue;
+            }
+            result *= 10;
+            if (result < limit + digit) {
+                overflow = true;
+                continue;
+            }
+            result -= digit;
+        }
+        return overflow ? OUT_OF_RANGE : OK;
+    }
+
+    static int checkInteger(double value, long min, long max) {
+        if (value != Math.rint(value)) {
+            return INVALID_FORMAT;
+        }
+        return value < (double) min || value >= (double) max + 1D ? OUT_OF_RANGE : OK;
+    }
+
+    static int checkDecimal(String text) {
+        if (text == null) {
+            return EMPTY;
+        }
+        int start = 0;
+        int end = text.length();
+        while (start < end && text.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && text.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        if (start == end) {
+            return EMPTY;
+        }
+
+        int i = start;
+        char chr = text.charAt(i);
+        if (chr == '-' || chr == '+') {
+            i++;
+        }
+        if (text.startsWith("NaN", i)) {
+            return i + 3 == end ? OK : INVALID_FORMAT;
+        }
+        if (text.startsWith("Infinity", i)) {
+            return i + 8 == end ? OK : INVALID_FORMAT;
+        }
+        boolean hex = i + 1 < end && text.charAt(i) == '0' && ((chr = text.charAt(i + 1)) == 'x' || chr == 'X');
+        if (hex) {
+            i += 2;
+        }
+
+        int digits = 0;
+        while (i < end && ((chr = text.charAt(i)) >= '0' && chr <= '9' || hex && (chr | 0x20) >= 'a' && (chr | 0x20) <= 'f')) {
+            i++;
+            digits++;
+        }
+        if (i < end && text.charAt(i) == '.') {
+            i++;
+            while (i < end && ((chr = text.charAt(i)) >= '0' && chr <= '9' || hex && (chr | 0x20) >= 'a' && (chr | 0x20) <= 'f')) {
+                i++;
+                digits++;
+            }
+        }
+        if (digits == 0) {
+            return INVALID_FORMAT;
+        }
+        // hexadecimal floating point literals require the binary exponent
+        if (hex && (i == end || ((chr = text.charAt(i)) != 'p' && chr != 'P'))) {
+            return INVALID_FORMAT;
+        }
+        if (i < end && (hex || (chr = text.charAt(i)) == 'e' || chr == 'E')) {
+            i++;
+            if (i < end && ((chr = text.charAt(i)) == '-' || chr == '+')) {
+                i++;
+            }
+            int exponentDigits = 0;
+            while (i < end && (chr = text.charAt(i)) >= '0' && chr <= '9') {
+                i++;
+                exponentDigits++;
+            }
+            if (exponentDigits == 0) {
+                return INVALID_FORMAT;
+            }
+        }
+        if (i < end && ((chr = text.charAt(i)) == 'f' || chr == 'F' || chr == 'd' || chr == 'D')) {
+            i++;
+        }
+        return i == end ? OK : INVALID_FORMAT;
+    }
+}
@@ -0,0 +1,49 @@
+package com.rabbani.xls.util;
+
+public final class StringPool {
+
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    private final String[] table;
+
+    private final int mask;
+
+    public StringPool() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public StringPool(int capacity) {
+        if (capacity < 2) {
+            throw new IllegalArgumentException("capacity must be greater than 1: " + capacity);
+        }
+        int size = Integer.highestOneBit(capacity - 1) << 1;
+        table = new String[size];
+        mask = size - 1;
+    }
+
+    public String intern(String value) {
+        if (value == null) {
+            return null;
+        }
+        int hash = value.hashCode();
+        int index = (hash ^ (hash >>> 16)) & mask;
+        String cached = table[index];
+        if (value.equals(cached)) {
+            return cached;
+        }
+        String neighbour = table[index ^ 1];
+        if (value.equals(neighbour)) {
+            return neighbour;
+        }
+        if (cached != null && neighbour == null) {
+            table[index ^ 1] = value;
+        } else {
+            table[index] = value;
+        }
+        return value;
+    }
+
+    public int capacity() {
+        return table.length;
+    }
+}
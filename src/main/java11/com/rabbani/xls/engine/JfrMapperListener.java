@@ -0,0 +1,62 @@
+package com.rabbani.xls.engine;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+final class JfrMapperListener implements MapperListener {
+
+    @Override
+    public void sheetRead(Class<?> type, long rows, long nanos) {
+        SheetReadEvent event = new SheetReadEvent();
+        if (event.isEnabled()) {
+            event.type = type.getName();
+            event.rows = rows;
+            event.elapsed = nanos;
+            event.commit();
+        }
+    }
+
+    @Override
+    public void sheetWritten(Class<?> type, long rows, long nanos) {
+        SheetWriteEvent event = new SheetWriteEvent();
+        if (event.isEnabled()) {
+            event.type = type.getName();
+            event.rows = rows;
+            event.elapsed = nanos;
+            event.commit();
+        }
+    }
+
+    @Name("com.rabbani.xls.SheetRead")
+    @Label("Sheet Read")
+    @Category("XLS Modeler")
+    static final class SheetReadEvent extends Event {
+        @Label("Type")
+        String type;
+
+        @Label("Rows")
+        long rows;
+
+        @Label("Elapsed")
+        @Timespan(Timespan.NANOSECONDS)
+        long elapsed;
+    }
+
+    @Name("com.rabbani.xls.SheetWrite")
+    @Label("Sheet Write")
+    @Category("XLS Modeler")
+    static final class SheetWriteEvent extends Event {
+        @Label("Type")
+        String type;
+
+        @Label("Rows")
+        long rows;
+
+        @Label("Elapsed")
+        @Timespan(Timespan.NANOSECONDS)
+        long elapsed;
+    }
+}
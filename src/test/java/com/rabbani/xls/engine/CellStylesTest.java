@@ -0,0 +1,68 @@
+package com.rabbani.xls.engine;
+
+import com.rabbani.xls.model.Invoice;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class CellStylesTest {
+
+    private final Mapper<Invoice> mapper = MapperService.getInstance().getMapper(Invoice.class);
+
+    @Test
+    public void writeAllSharesOneStylePerFormat() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        mapper.writeAll(out, Arrays.asList(new Invoice("I-1", 1234.5), new Invoice("I-2", 7)).stream(), new String[]{"no", "amount"});
+
+        try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+            Sheet sheet = workbook.getSheetAt(0);
+            assertEquals("#,##0.00", sheet.getRow(1).getCell(1).getCellStyle().getDataFormatString());
+            assertEquals(sheet.getRow(1).getCell(1).getCellStyle().getIndex(), sheet.getRow(2).getCell(1).getCellStyle().getIndex());
+            assertEquals(0, sheet.getRow(1).getCell(0).getCellStyle().getIndex());
+        }
+    }
+
+    @Test
+    public void writeUsesTheCellStylesItIsGiven() throws IOException {
+        try (XSSFWorkbook workbook = new XSSFWorkbook()) {
+            Sheet sheet = workbook.createSheet();
+            Mapper.Instance<Invoice> instance = mapper.mapper("amount");
+            CellStyles cellStyles = CellStyles.of(workbook);
+
+            Row styled = sheet.createRow(0);
+            instance.write(styled, new Invoice("I-1", 1), cellStyles, null);
+            Row plain = sheet.createRow(1);
+            instance.write(plain, new Invoice("I-2", 2), null, null);
+            Row resolved = sheet.createRow(2);
+            instance.write(resolved, new Invoice("I-3", 3), null);
+
+            assertEquals(cellStyles.get("#,##0.00").getIndex(), styled.getCell(0).getCellStyle().getIndex());
+            assertEquals(0, plain.getCell(0).getCellStyle().getIndex());
+            assertEquals(styled.getCell(0).getCellStyle().getIndex(), resolved.getCell(0).getCellStyle().getIndex());
+            assertEquals(1, cellStyles.size());
+        }
+    }
+
+    @Test
+    public void localViewSharesTheRegistryStyles() throws IOException {
+        try (XSSFWorkbook workbook = new XSSFWorkbook()) {
+            CellStyles shared = CellStyles.of(workbook);
+            CellStyles local = shared.local();
+
+            assertSame(local, local.local());
+            assertEquals(shared.get("0.0").getIndex(), local.get("0.0").getIndex());
+            assertSame(local.get("0.0"), local.get("0.0"));
+            assertEquals(shared.get("0.00").getIndex(), local.get("0.00").getIndex());
+            assertEquals(2, local.size());
+            assertEquals(2, shared.size());
+        }
+    }
+}
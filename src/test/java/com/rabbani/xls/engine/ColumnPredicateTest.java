@@ -0,0 +1,60 @@
+package com.rabbani.xls.engine;
+
+import com.rabbani.xls.model.Item;
+import com.rabbani.xls.model.Sheets;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.rabbani.xls.engine.ColumnPredicate.*;
+import static org.junit.Assert.*;
+
+public class ColumnPredicateTest {
+
+    private final Mapper<Item> mapper = MapperService.getInstance().getMapper(Item.class);
+
+    private static final Object[][] ROWS = {
+            {"no", "name", "price"},
+            {"A-1", "apple", 50},
+            {"A-2", "pear", "0x10"},
+            {"A-3", "plum", "75.5"},
+            {"A-4", "fig", 150},
+            {"A-5", "kiwi", "cheap"},
+            {"A-6", "lime"}
+    };
+
+    @Test
+    public void betweenSkipsUnparsableText() {
+        assertEquals("[A-1, A-3]", readWhere(between("price", 0, 100)));
+    }
+
+    @Test
+    public void streamWhereSkipsUnparsableText() throws IOException {
+        List<String> numbers = new ArrayList<>();
+        mapper.streamWhere(new ByteArrayInputStream(Sheets.xlsx(ROWS)), between("price", 0, 100), item -> numbers.add(item.no), null);
+        assertEquals("[A-1, A-3]", numbers.toString());
+    }
+
+    @Test
+    public void combinesConditions() {
+        assertEquals("[A-3]", readWhere(between("price", 0, 100).and(not(eq("name", "apple")))));
+        assertEquals("[A-1, A-4, A-6]", readWhere(in("name", "apple", "fig").or(eq("no", "A-6"))));
+        assertEquals("[A-2, A-4, A-5, A-6]", readWhere(not(between("price", 0, 100))));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unknownColumnFailsOnBind() {
+        readWhere(eq("weight", 1));
+    }
+
+    private String readWhere(ColumnPredicate predicate) {
+        Sheet sheet = Sheets.sheet(ROWS);
+        List<String> numbers = new ArrayList<>();
+        mapper.readWhere(sheet, predicate, item -> numbers.add(item.no));
+        return numbers.toString();
+    }
+}
@@ -0,0 +1,83 @@
+package com.rabbani.xls.engine;
+
+import com.rabbani.xls.model.Item;
+import com.rabbani.xls.model.Sheets;
+import com.rabbani.xls.model.Stock;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class InstanceTest {
+
+    private final Mapper<Item> mapper = MapperService.getInstance().getMapper(Item.class);
+
+    private final Sheet sheet = Sheets.sheet(
+            new Object[]{"no", "quantity", "active"},
+            new Object[]{"A-1", 1, true},
+            new Object[]{"A-2"},
+            new Object[]{"A-3", 3});
+
+    @Test
+    public void forEachSheetSkipsHeaderAndReusesInstance() {
+        List<Item> seen = new ArrayList<>();
+        List<String> numbers = new ArrayList<>();
+        ErrorCollector errors = new ErrorCollector();
+        mapper.mapper(sheet.getRow(0)).forEach(sheet, item -> {
+            seen.add(item);
+            numbers.add(item.no + ":" + item.quantity + ":" + item.active);
+        }, errors);
+
+        assertEquals("[A-1:1:true, A-2:0:null, A-3:3:null]", numbers.toString());
+        assertSame(seen.get(0), seen.get(2));
+        assertTrue(errors.isEmpty());
+    }
+
+    @Test
+    public void forEachSheetStartsAtFirstRow() {
+        List<String> numbers = new ArrayList<>();
+        mapper.mapper(sheet.getRow(0)).forEach(sheet, 2, item -> numbers.add(item.no), null);
+        assertEquals("[A-2, A-3]", numbers.toString());
+    }
+
+    @Test
+    public void forEachRowsMapsEveryRow() {
+        List<String> numbers = new ArrayList<>();
+        List<Row> rows = new ArrayList<>();
+        rows.add(sheet.getRow(3));
+        rows.add(sheet.getRow(1));
+        mapper.mapper(sheet.getRow(0)).forEach(rows, item -> numbers.add(item.no));
+        assertEquals("[A-3, A-1]", numbers.toString());
+    }
+
+    @Test
+    public void reusedInstanceKeepsInitializersOfAbsentColumns() {
+        Mapper<Stock> stocks = MapperService.getInstance().getMapper(Stock.class);
+        Sheet full = Sheets.sheet(
+                new Object[]{"no", "quantity", "unit"},
+                new Object[]{"S-1", 9, "kg"});
+        Sheet partial = Sheets.sheet(
+                new Object[]{"no"},
+                new Object[]{"S-2"});
+
+        Stock reused = stocks.mapper(full.getRow(0)).read(full.getRow(1), null);
+        assertEquals("kg", reused.unit);
+        Stock fresh = stocks.mapper(partial.getRow(0)).read(partial.getRow(1), null);
+        assertSame(reused, stocks.mapper(partial.getRow(0)).read(partial.getRow(1), reused, null));
+
+        for (Stock stock : new Stock[]{fresh, reused}) {
+            assertEquals("S-2", stock.no);
+            assertEquals(5, stock.quantity);
+            assertEquals("pcs", stock.unit);
+        }
+
+        reused.unit = "box";
+        stocks.reset(reused);
+        assertNull(reused.no);
+        assertEquals("pcs", reused.unit);
+    }
+}
@@ -0,0 +1,95 @@
+package com.rabbani.xls.engine;
+
+import com.rabbani.xls.model.Contact;
+import com.rabbani.xls.model.Sheets;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+import static org.junit.Assert.*;
+
+public class LayoutCacheTest {
+
+    private final Mapper<Contact> mapper = MapperService.getInstance().getMapper(Contact.class);
+
+    private long hits;
+
+    private long misses;
+
+    @Before
+    public void setUp() {
+        mapper.setLayoutCacheSize(2);
+        hits = mapper.getLayoutCacheHits();
+        misses = mapper.getLayoutCacheMisses();
+    }
+
+    @After
+    public void tearDown() {
+        mapper.setLayoutCacheSize(Mapper.DEFAULT_LAYOUT_CACHE_SIZE);
+    }
+
+    @Test
+    public void sameHeaderHitsAndReturnsTheSameLayout() {
+        Mapper.Instance<Contact> first = mapper.mapper("id", "title");
+        Mapper.Instance<Contact> second = mapper.mapper(Arrays.asList("ID", "Title"));
+
+        assertSame(first, second);
+        assertCounts(1, 1);
+    }
+
+    @Test
+    public void differentHeaderMisses() {
+        assertNotSame(mapper.mapper("id", "title"), mapper.mapper("title", "id"));
+        mapper.mapper("id", null, "title");
+        assertCounts(0, 3);
+    }
+
+    @Test
+    public void evictsTheLeastRecentlyUsedLayoutAtCapacity() {
+        Mapper.Instance<Contact> a = mapper.mapper("id");
+        mapper.mapper("title");
+        assertSame(a, mapper.mapper("id"));
+        mapper.mapper("id", "title");
+        assertSame(a, mapper.mapper("id"));
+        assertCounts(2, 3);
+
+        mapper.mapper("title");
+        assertCounts(2, 4);
+    }
+
+    @Test
+    public void resizingAndClearingDropCachedLayouts() {
+        Mapper.Instance<Contact> a = mapper.mapper("id");
+        mapper.setLayoutCacheSize(1);
+        assertNotSame(a, mapper.mapper("id"));
+        mapper.clearLayoutCache();
+        mapper.mapper("id");
+        assertCounts(0, 3);
+    }
+
+    @Test
+    public void foldsCaseIndependentlyOfTheDefaultLocale() {
+        Locale locale = Locale.getDefault();
+        Locale.setDefault(new Locale("tr", "TR"));
+        try {
+            Sheet sheet = Sheets.sheet(
+                    new Object[]{"TITLE", "ID"},
+                    new Object[]{"Dr", "I-1"});
+            Contact contact = mapper.mapper(sheet.getRow(0)).read(sheet.getRow(1), null);
+            assertEquals("I-1", contact.id);
+            assertEquals("Dr", contact.title);
+            assertSame(mapper.mapper(sheet.getRow(0)), mapper.mapper("title", "id"));
+        } finally {
+            Locale.setDefault(locale);
+        }
+    }
+
+    private void assertCounts(long expectedHits, long expectedMisses) {
+        assertEquals(expectedHits, mapper.getLayoutCacheHits() - hits);
+        assertEquals(expectedMisses, mapper.getLayoutCacheMisses() - misses);
+    }
+}
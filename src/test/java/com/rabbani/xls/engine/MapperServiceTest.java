@@ -0,0 +1,83 @@
+package com.rabbani.xls.engine;
+
+import com.rabbani.xls.model.Contact;
+import com.rabbani.xls.model.Item;
+import com.rabbani.xls.model.Stock;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class MapperServiceTest {
+
+    private static final Mapper<Item> ITEMS = MapperService.getInstance().getMapper(Item.class);
+
+    private static final Mapper<Contact> CONTACTS = MapperService.getInstance().getMapper(Contact.class);
+
+    @Test
+    public void ownerFactoryServesItsTypes() {
+        StubFactory owner = new StubFactory(Item.class, ITEMS, true);
+        MapperService service = new MapperService(Collections.singletonList(owner));
+
+        assertSame(ITEMS, service.getMapper(Item.class));
+        assertSame(ITEMS, service.getMapper(Item.class));
+        assertEquals(1, owner.calls.get());
+        assertNull(service.getMapper(Stock.class));
+        assertEquals(1, owner.calls.get());
+    }
+
+    @Test
+    public void fallbackFactoryWithoutTypeNamesIsAskedForUnclaimedTypes() {
+        StubFactory owner = new StubFactory(Item.class, ITEMS, true);
+        StubFactory fallback = new StubFactory(Contact.class, CONTACTS, false);
+        MapperService service = new MapperService(Arrays.<MapperFactory>asList(fallback, owner));
+
+        assertSame(ITEMS, service.getMapper(Item.class));
+        assertEquals(0, fallback.calls.get());
+        assertSame(CONTACTS, service.getMapper(Contact.class));
+        assertNull(service.getMapper(Stock.class));
+        assertEquals(2, fallback.calls.get());
+    }
+
+    @Test
+    public void typeClaimedByTwoFactoriesFails() {
+        StubFactory first = new StubFactory(Item.class, ITEMS, true);
+        StubFactory second = new StubFactory(Item.class, ITEMS, true);
+        try {
+            new MapperService(Arrays.<MapperFactory>asList(first, second));
+            fail("expected IllegalStateException");
+        } catch (IllegalStateException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains(Item.class.getName()));
+        }
+    }
+
+    private static final class StubFactory implements MapperFactory {
+
+        private final Class<?> type;
+        private final Mapper<?> mapper;
+        private final boolean claims;
+        private final AtomicInteger calls = new AtomicInteger();
+
+        StubFactory(Class<?> type, Mapper<?> mapper, boolean claims) {
+            this.type = type;
+            this.mapper = mapper;
+            this.claims = claims;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> Mapper<T> get(Class<T> clz) {
+            calls.incrementAndGet();
+            return clz == type ? (Mapper<T>) mapper : null;
+        }
+
+        @Override
+        public Set<String> typeNames() {
+            return claims ? Collections.singleton(type.getName()) : Collections.<String>emptySet();
+        }
+    }
+}
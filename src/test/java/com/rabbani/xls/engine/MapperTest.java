@@ -0,0 +1,76 @@
+package com.rabbani.xls.engine;
+
+import com.rabbani.xls.model.Item;
+import com.rabbani.xls.model.Sheets;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class MapperTest {
+
+    private final Mapper<Item> mapper = MapperService.getInstance().getMapper(Item.class);
+
+    @Test
+    public void writeAllRoundTripsMoreRowsThanTheWindow() throws IOException {
+        List<Item> written = new ArrayList<>();
+        for (int i = 0; i < 250; i++) {
+            written.add(item("W-" + i, "name " + i, i, i / 4D, i % 3 == 0 ? null : i % 2 == 0));
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        mapper.writeAll(out, written, new String[]{"price", "no", "active", "quantity", "name"}, 16, false, null);
+        List<Item> read = new ArrayList<>();
+        mapper.stream(new ByteArrayInputStream(out.toByteArray()), read::add);
+
+        assertEquals(written.size(), read.size());
+        for (int i = 0; i < written.size(); i++) {
+            Item expected = written.get(i);
+            Item actual = read.get(i);
+            assertEquals(expected.no, actual.no);
+            assertEquals(expected.name, actual.name);
+            assertEquals(expected.quantity, actual.quantity);
+            assertEquals(expected.price, actual.price, 0);
+            assertEquals(expected.active, actual.active);
+        }
+    }
+
+    @Test
+    public void listLayoutPlacesColumnsByPosition() {
+        Sheet sheet = Sheets.sheet(new Object[]{7, "ignored", "A-1", "unknown", "apple"});
+
+        Item item = mapper.mapper(Arrays.asList("quantity", null, "no", "unknown", "name")).read(sheet.getRow(0), null);
+
+        assertEquals(7, item.quantity);
+        assertEquals("A-1", item.no);
+        assertEquals("apple", item.name);
+        assertEquals(0, item.price, 0);
+    }
+
+    @Test
+    public void columnsLayoutWritesInTheGivenOrder() {
+        Sheet sheet = Sheets.sheet();
+        mapper.mapper("name", "no").write(sheet.createRow(0), item("A-1", "apple", 1, 0, null), null);
+
+        assertEquals("apple", sheet.getRow(0).getCell(0).getStringCellValue());
+        assertEquals("A-1", sheet.getRow(0).getCell(1).getStringCellValue());
+        assertEquals(2, sheet.getRow(0).getLastCellNum());
+    }
+
+    static Item item(String no, String name, int quantity, double price, Boolean active) {
+        Item item = new Item();
+        item.no = no;
+        item.name = name;
+        item.quantity = quantity;
+        item.price = price;
+        item.active = active;
+        return item;
+    }
+}
@@ -0,0 +1,122 @@
+package com.rabbani.xls.engine;
+
+import com.rabbani.xls.model.Item;
+import com.rabbani.xls.model.Sheets;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.Assert.*;
+
+/**
+ * Runs in its own surefire execution with -Dxls.metrics=true, the flag is read once into a static final.
+ */
+public class MetricsTest {
+
+    private final Mapper<Item> mapper = MapperService.getInstance().getMapper(Item.class);
+
+    private final Recorder recorder = new Recorder();
+
+    @Before
+    public void register() {
+        assertTrue("run with -Dxls.metrics=true", Metrics.ENABLED);
+        Metrics.addListener(recorder);
+    }
+
+    @After
+    public void unregister() {
+        Metrics.removeListener(recorder);
+    }
+
+    @Test
+    public void readReportsRowsColumnsAndSheet() throws IOException {
+        byte[] xlsx = Sheets.xlsx(
+                new Object[]{"no", "quantity"},
+                new Object[]{"A-1", 3},
+                new Object[]{"A-2", "many"});
+        List<Item> items = new ArrayList<>();
+
+        mapper.stream(new ByteArrayInputStream(xlsx), items::add, (column, cell, error) -> {
+        });
+
+        assertEquals(2, items.size());
+        assertEquals(2, recorder.count("rowRead"));
+        assertEquals(2, recorder.count("converted:no"));
+        assertEquals(1, recorder.count("converted:quantity"));
+        assertEquals(1, recorder.count("failed:quantity"));
+        assertEquals(1, recorder.count("headerResolved"));
+        assertEquals(2, recorder.count("sheetRead"));
+    }
+
+    @Test
+    public void writeReportsRowsAndSheet() throws IOException {
+        Item first = new Item();
+        first.no = "A-1";
+        Item second = new Item();
+        second.no = "A-2";
+
+        mapper.writeAll(new ByteArrayOutputStream(), Arrays.asList(first, second), new String[]{"no"});
+
+        assertEquals(2, recorder.count("rowWritten"));
+        assertEquals(2, recorder.count("sheetWritten"));
+    }
+
+    private static final class Recorder implements MapperListener {
+
+        private final Map<String, LongAdder> counts = new ConcurrentHashMap<>();
+
+        long count(String key) {
+            LongAdder count = counts.get(key);
+            return count == null ? 0 : count.sum();
+        }
+
+        private void add(String key, long amount) {
+            counts.computeIfAbsent(key, k -> new LongAdder()).add(amount);
+        }
+
+        @Override
+        public void rowRead(Class<?> type) {
+            add("rowRead", 1);
+        }
+
+        @Override
+        public void rowWritten(Class<?> type) {
+            add("rowWritten", 1);
+        }
+
+        @Override
+        public void columnConverted(Class<?> type, String column, long nanos) {
+            add("converted:" + column, 1);
+        }
+
+        @Override
+        public void columnFailed(Class<?> type, String column) {
+            add("failed:" + column, 1);
+        }
+
+        @Override
+        public void headerResolved(Class<?> type, long nanos, boolean cached) {
+            add("headerResolved", 1);
+        }
+
+        @Override
+        public void sheetRead(Class<?> type, long rows, long nanos) {
+            add("sheetRead", rows);
+        }
+
+        @Override
+        public void sheetWritten(Class<?> type, long rows, long nanos) {
+            add("sheetWritten", rows);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.rabbani.xls.engine;
+
+import com.rabbani.xls.model.Item;
+import com.rabbani.xls.model.Sheets;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+public class ParallelReaderTest {
+
+    private static final int ROWS = 5000;
+
+    private final Mapper<Item> mapper = MapperService.getInstance().getMapper(Item.class);
+
+    private static Sheet sheet() {
+        Object[][] rows = new Object[ROWS + 1][];
+        rows[0] = new Object[]{"no", "quantity"};
+        for (int i = 1; i <= ROWS; i++) {
+            rows[i] = new Object[]{"N-" + i, i % 100 == 0 ? i + 0.5 : i};
+        }
+        return Sheets.sheet(rows);
+    }
+
+    @Test
+    public void readsInRowOrderOnCommonPoolWithoutHeader() {
+        Sheet sheet = sheet();
+        ErrorCollector errors = new ErrorCollector();
+        List<Item> items = mapper.mapper(sheet.getRow(0)).readParallel(sheet, errors);
+
+        assertEquals(ROWS, items.size());
+        for (int i = 0; i < ROWS; i++) {
+            assertEquals("N-" + (i + 1), items.get(i).no);
+        }
+        assertEquals(ROWS / 100, errors.size());
+    }
+
+    @Test
+    public void usesCallerPool() {
+        Sheet sheet = sheet();
+        ForkJoinPool pool = new ForkJoinPool(3);
+        try {
+            List<Item> items = mapper.mapper(sheet.getRow(0)).readParallelUnordered(sheet, 4001, pool, null);
+            assertEquals(1000, items.size());
+            long expected = 0;
+            for (int i = 4001; i <= ROWS; i++) {
+                expected += i % 100 == 0 ? 0 : i;
+            }
+            assertEquals(expected, items.stream().mapToLong(item -> item.quantity).sum());
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.rabbani.xls.engine;
+
+import com.rabbani.xls.model.Item;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.*;
+
+public class ParallelWriterTest {
+
+    private static final String[] COLUMNS = {"no", "quantity"};
+
+    private final Mapper<Item> mapper = MapperService.getInstance().getMapper(Item.class);
+
+    @Test
+    public void writesEverySheet() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new ParallelWriter(100, false)
+                .sheet("first", mapper, items(250), COLUMNS)
+                .sheet("second", mapper, items(3), COLUMNS)
+                .sheet("third", mapper, items(0), COLUMNS)
+                .write(out, 2, null);
+
+        try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+            assertEquals(3, workbook.getNumberOfSheets());
+            Sheet first = workbook.getSheet("first");
+            assertEquals(250, first.getLastRowNum());
+            assertEquals("quantity", first.getRow(0).getCell(1).getStringCellValue());
+            assertEquals("I-250", first.getRow(250).getCell(0).getStringCellValue());
+            assertEquals(250, first.getRow(250).getCell(1).getNumericCellValue(), 0);
+            assertEquals(3, workbook.getSheet("second").getLastRowNum());
+            assertEquals(0, workbook.getSheet("third").getLastRowNum());
+        }
+    }
+
+    @Test(timeout = 30000)
+    public void failingSheetStopsTheOthersBeforeReturning() throws IOException, InterruptedException {
+        AtomicLong produced = new AtomicLong();
+        Iterable<Item> endless = () -> new Iterator<Item>() {
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public Item next() {
+                return item((int) produced.incrementAndGet());
+            }
+        };
+        Iterable<Item> failing = () -> new Iterator<Item>() {
+            private int count;
+
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public Item next() {
+                if (++count == 100) {
+                    throw new IllegalStateException("source failed");
+                }
+                return item(count);
+            }
+        };
+
+        try {
+            new ParallelWriter(100, false)
+                    .sheet("endless", mapper, endless, COLUMNS)
+                    .sheet("failing", mapper, failing, COLUMNS)
+                    .write(new ByteArrayOutputStream(), 2, null);
+            fail("expected the failing sheet to abort the write");
+        } catch (IllegalStateException e) {
+            assertEquals("source failed", e.getMessage());
+        }
+
+        long stopped = produced.get();
+        Thread.sleep(200);
+        assertEquals(stopped, produced.get());
+    }
+
+    private static List<Item> items(int count) {
+        List<Item> items = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            items.add(item(i));
+        }
+        return items;
+    }
+
+    private static Item item(int i) {
+        Item item = new Item();
+        item.no = "I-" + i;
+        item.quantity = i;
+        return item;
+    }
+}
@@ -0,0 +1,141 @@
+package com.rabbani.xls.engine.stream;
+
+import com.rabbani.xls.engine.Mapper;
+import com.rabbani.xls.engine.MapperService;
+import com.rabbani.xls.model.Item;
+import org.apache.poi.ss.usermodel.Row;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class CsvReaderTest {
+
+    @Test
+    public void readsQuotedDelimitersQuotesAndLineBreaks() {
+        List<Row> rows = read(new StringReader("a,\"b,c\",\"say \"\"hi\"\"\",\"one\r\ntwo\"\r\nx,y\r\n"), CsvFormat.CSV);
+
+        assertEquals(2, rows.size());
+        assertEquals("a", value(rows.get(0), 0));
+        assertEquals("b,c", value(rows.get(0), 1));
+        assertEquals("say \"hi\"", value(rows.get(0), 2));
+        assertEquals("one\r\ntwo", value(rows.get(0), 3));
+        assertEquals("x", value(rows.get(1), 0));
+        assertEquals("y", value(rows.get(1), 1));
+    }
+
+    @Test
+    public void splitsCrLfAndFieldsAcrossReads() {
+        String csv = "no,name\r\nA-1,apple\r\n\r\nA-2,\"pe\r\nar\"\r\nA-3,\"\"\"q\"\"\"\r\n";
+        List<Row> rows = read(new OneCharReader(csv), CsvFormat.CSV);
+
+        assertEquals(4, rows.size());
+        assertEquals(0, rows.get(0).getRowNum());
+        assertEquals("name", value(rows.get(0), 1));
+        assertEquals(1, rows.get(1).getRowNum());
+        assertEquals("apple", value(rows.get(1), 1));
+        assertEquals(3, rows.get(2).getRowNum());
+        assertEquals("pe\r\nar", value(rows.get(2), 1));
+        assertEquals(4, rows.get(3).getRowNum());
+        assertEquals("\"q\"", value(rows.get(3), 1));
+    }
+
+    @Test
+    public void skipsByteOrderMarkAndEmptyFields() {
+        List<Row> rows = read(new StringReader("\uFEFFno\tname\n\tpear"), CsvFormat.TSV);
+
+        assertEquals("no", value(rows.get(0), 0));
+        assertNull(rows.get(1).getCell(0));
+        assertEquals("pear", value(rows.get(1), 1));
+    }
+
+    @Test
+    public void unterminatedQuoteFails() {
+        try (CsvReader reader = new CsvReader(new StringReader("a,\"b\nc"), CsvFormat.CSV)) {
+            reader.hasNext();
+            fail("expected an unterminated quote error");
+        } catch (UncheckedIOException e) {
+            assertTrue(e.getCause().getMessage(), e.getCause().getMessage().startsWith("Unterminated quoted field"));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Test
+    public void columnMaskSkipsUnknownColumns() {
+        try (CsvReader reader = new CsvReader(new OneCharReader("a,b,c\n1,\"2,2\",3\n"), CsvFormat.CSV)) {
+            reader.next();
+            reader.setColumnMask(new boolean[]{true, false});
+            Row row = reader.next();
+            assertEquals("1", value(row, 0));
+            assertNull(row.getCell(1));
+            assertNull(row.getCell(2));
+            assertFalse(reader.hasNext());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Test
+    public void streamsThroughTheMapper() throws IOException {
+        Mapper<Item> mapper = MapperService.getInstance().getMapper(Item.class);
+        byte[] csv = "quantity,unknown,no,price\n3,x,A-1,1.5\n,y,\"A,2\",0x1p1\n".getBytes(StandardCharsets.UTF_8);
+
+        List<Item> items = new ArrayList<>();
+        mapper.streamCsv(new ByteArrayInputStream(csv), CsvFormat.CSV, items::add, null);
+
+        assertEquals(2, items.size());
+        assertEquals("A-1", items.get(0).no);
+        assertEquals(3, items.get(0).quantity);
+        assertEquals(1.5, items.get(0).price, 0);
+        assertEquals("A,2", items.get(1).no);
+        assertEquals(0, items.get(1).quantity);
+        assertEquals(2, items.get(1).price, 0);
+    }
+
+    private static List<Row> read(Reader input, CsvFormat format) {
+        List<Row> rows = new ArrayList<>();
+        try (CsvReader reader = new CsvReader(input, format)) {
+            reader.forEachRemaining(rows::add);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return rows;
+    }
+
+    private static String value(Row row, int column) {
+        return row.getCell(column).getStringCellValue();
+    }
+
+    private static final class OneCharReader extends Reader {
+
+        private final String text;
+
+        private int position;
+
+        OneCharReader(String text) {
+            this.text = text;
+        }
+
+        @Override
+        public int read(char[] buffer, int offset, int length) {
+            if (position == text.length()) {
+                return -1;
+            }
+            buffer[offset] = text.charAt(position++);
+            return 1;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.rabbani.xls.engine.stream;
+
+import com.rabbani.xls.engine.Mapper;
+import com.rabbani.xls.engine.MapperService;
+import com.rabbani.xls.model.Item;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class CsvWriterTest {
+
+    @Test
+    public void quotesOnlyWhatNeedsQuoting() throws IOException {
+        StringWriter out = new StringWriter();
+        CsvWriter writer = new CsvWriter(out, CsvFormat.CSV);
+        writer.writeRecord("plain", "a,b", "say \"hi\"", "one\ntwo", null, "");
+        writer.flush();
+
+        assertEquals("plain,\"a,b\",\"say \"\"hi\"\"\",\"one\ntwo\",,\r\n", out.toString());
+    }
+
+    @Test
+    public void quoteAllQuotesEveryValue() throws IOException {
+        StringWriter out = new StringWriter();
+        CsvWriter writer = new CsvWriter(out, CsvFormat.TSV.withQuoteAll(true).withLineSeparator("\n"));
+        writer.writeRecord("a", "b");
+        writer.flush();
+
+        assertEquals("\"a\"\t\"b\"\n", out.toString());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsValuesThatNeedQuotingWhenQuotingIsDisabled() throws IOException {
+        new CsvWriter(new StringWriter(), CsvFormat.CSV.withQuote(CsvFormat.NO_QUOTE)).writeRecord("a,b");
+    }
+
+    @Test
+    public void roundTripsThroughTheMapper() throws IOException {
+        Mapper<Item> mapper = MapperService.getInstance().getMapper(Item.class);
+        Item first = item("A-1", "pear, \"green\"\r\nlarge", 3, 0.1, true);
+        Item second = item("A-2", null, -7, 1e20, null);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        mapper.writeCsv(out, Arrays.asList(first, second), new String[]{"no", "name", "quantity", "price", "active"}, CsvFormat.CSV, null);
+        List<Item> items = new ArrayList<>();
+        mapper.streamCsv(new ByteArrayInputStream(out.toByteArray()), CsvFormat.CSV, items::add, null);
+
+        assertEquals(2, items.size());
+        assertEquals(first.name, items.get(0).name);
+        assertEquals(3, items.get(0).quantity);
+        assertEquals(0.1, items.get(0).price, 0);
+        assertEquals(Boolean.TRUE, items.get(0).active);
+        assertEquals("A-2", items.get(1).no);
+        assertNull(items.get(1).name);
+        assertEquals(-7, items.get(1).quantity);
+        assertEquals(1e20, items.get(1).price, 0);
+        assertNull(items.get(1).active);
+    }
+
+    private static Item item(String no, String name, int quantity, double price, Boolean active) {
+        Item item = new Item();
+        item.no = no;
+        item.name = name;
+        item.quantity = quantity;
+        item.price = price;
+        item.active = active;
+        return item;
+    }
+}
@@ -0,0 +1,173 @@
+package com.rabbani.xls.engine.stream;
+
+import com.rabbani.xls.engine.Mapper;
+import com.rabbani.xls.engine.MapperService;
+import com.rabbani.xls.model.Item;
+import com.rabbani.xls.model.Sheets;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class PipelinedReaderTest {
+
+    private static final int ROWS = 600;
+
+    private final Mapper<Item> mapper = MapperService.getInstance().getMapper(Item.class);
+
+    @Test
+    public void pipelinedStreamMatchesStream() throws IOException {
+        byte[] xlsx = Sheets.xlsx(rows(ROWS));
+
+        List<String> streamed = new ArrayList<>();
+        mapper.stream(new ByteArrayInputStream(xlsx), item -> streamed.add(item.no));
+        List<String> pipelined = new ArrayList<>();
+        mapper.streamPipelined(new ByteArrayInputStream(xlsx), PipelinedReader.DEFAULT_QUEUE_DEPTH, item -> pipelined.add(item.no), null);
+
+        assertEquals(ROWS, streamed.size());
+        assertEquals(streamed, pipelined);
+    }
+
+    @Test
+    public void singleSlotQueueDeliversSeveralChunksInOrder() {
+        Sheet sheet = Sheets.sheet(rows(ROWS));
+        List<Row> rows = new ArrayList<>();
+        try (PipelinedReader reader = new PipelinedReader(sheet.rowIterator(), 1, PipelinedReader.DEFAULT_CHUNK_SIZE)) {
+            while (reader.hasNext()) {
+                rows.add(reader.next());
+            }
+            assertFalse(reader.hasNext());
+        }
+        assertEquals(ROWS + 1, rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            assertSame(sheet.getRow(i), rows.get(i));
+        }
+    }
+
+    @Test
+    public void producerErrorIsRethrownOnTheConsumer() {
+        IllegalStateException failure = new IllegalStateException("broken source");
+        Iterator<Row> source = new Iterator<Row>() {
+            private final Iterator<Row> rows = Sheets.sheet(rows(10)).rowIterator();
+            private int count;
+
+            @Override
+            public boolean hasNext() {
+                return rows.hasNext();
+            }
+
+            @Override
+            public Row next() {
+                if (++count == 5) {
+                    throw failure;
+                }
+                return rows.next();
+            }
+        };
+
+        int consumed = 0;
+        try (PipelinedReader reader = new PipelinedReader(source, 4, 2)) {
+            try {
+                while (reader.hasNext()) {
+                    reader.next();
+                    consumed++;
+                }
+                fail("expected the producer error");
+            } catch (IllegalStateException e) {
+                assertSame(failure, e);
+            }
+            assertFalse(reader.hasNext());
+        }
+        assertEquals(4, consumed);
+    }
+
+    @Test
+    public void closeJoinsAProducerBlockedOnAFullQueue() throws InterruptedException {
+        Row row = Sheets.sheet(new Object[]{"no"}).getRow(0);
+        AtomicInteger produced = new AtomicInteger();
+        CountDownLatch blocked = new CountDownLatch(1);
+        Thread[] producer = new Thread[1];
+        Iterator<Row> endless = new Iterator<Row>() {
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public Row next() {
+                producer[0] = Thread.currentThread();
+                if (produced.incrementAndGet() == 2) {
+                    blocked.countDown();
+                }
+                return row;
+            }
+        };
+
+        PipelinedReader reader = new PipelinedReader(endless, 1, 1);
+        assertTrue(blocked.await(5, TimeUnit.SECONDS));
+        awaitState(producer[0], Thread.State.WAITING);
+
+        reader.close();
+
+        assertFalse(producer[0].isAlive());
+    }
+
+    @Test
+    public void interruptedConsumerGetsIllegalStateException() {
+        CountDownLatch never = new CountDownLatch(1);
+        Iterator<Row> stalled = new Iterator<Row>() {
+            @Override
+            public boolean hasNext() {
+                try {
+                    never.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return false;
+            }
+
+            @Override
+            public Row next() {
+                throw new AssertionError();
+            }
+        };
+
+        try (PipelinedReader reader = new PipelinedReader(stalled)) {
+            Thread.currentThread().interrupt();
+            try {
+                reader.hasNext();
+                fail("expected IllegalStateException");
+            } catch (IllegalStateException e) {
+                assertTrue(e.getCause() instanceof InterruptedException);
+                assertTrue(Thread.interrupted());
+            }
+        }
+    }
+
+    private static void awaitState(Thread thread, Thread.State state) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (thread.getState() != state) {
+            assertTrue("producer never reached " + state, System.nanoTime() < deadline);
+            Thread.sleep(1);
+        }
+    }
+
+    private static Object[][] rows(int count) {
+        Object[][] rows = new Object[count + 1][];
+        rows[0] = new Object[]{"no"};
+        for (int i = 1; i <= count; i++) {
+            rows[i] = new Object[]{"A-" + i};
+        }
+        return rows;
+    }
+}
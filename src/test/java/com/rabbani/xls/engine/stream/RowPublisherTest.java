@@ -0,0 +1,173 @@
+package com.rabbani.xls.engine.stream;
+
+import com.rabbani.xls.engine.Mapper;
+import com.rabbani.xls.engine.MapperService;
+import com.rabbani.xls.model.Item;
+import com.rabbani.xls.model.Sheets;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.junit.Test;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import static org.junit.Assert.*;
+
+public class RowPublisherTest {
+
+    private final Mapper<Item> mapper = MapperService.getInstance().getMapper(Item.class);
+
+    private final Sheet sheet = Sheets.sheet(
+            new Object[]{"no"},
+            new Object[]{"A-1"},
+            new Object[]{"A-2"},
+            new Object[]{"A-3"});
+
+    @Test
+    public void honoursDemand() {
+        Recorder recorder = new Recorder(null);
+        RowPublisher.of(mapper, sheet).subscribe(recorder);
+
+        recorder.subscription.request(2);
+        assertEquals(2, recorder.items.size());
+        assertFalse(recorder.completed);
+
+        recorder.subscription.request(Long.MAX_VALUE);
+        assertEquals(3, recorder.items.size());
+        assertEquals("A-3", recorder.items.get(2).no);
+        assertTrue(recorder.completed);
+    }
+
+    @Test
+    public void nonPositiveRequestSignalsErrorOnce() {
+        Recorder recorder = new Recorder(null);
+        RowPublisher.of(mapper, sheet).subscribe(recorder);
+
+        recorder.subscription.request(0);
+        recorder.subscription.request(-1);
+        recorder.subscription.request(1);
+
+        assertEquals(1, recorder.errors.size());
+        assertTrue(recorder.errors.get(0) instanceof IllegalArgumentException);
+        assertTrue(recorder.items.isEmpty());
+        assertFalse(recorder.completed);
+    }
+
+    @Test
+    public void nonPositiveRequestFromOnNextIsSignalledAfterItReturns() {
+        Recorder recorder = new Recorder(subscription -> subscription.request(0));
+        RowPublisher.of(mapper, sheet).subscribe(recorder);
+
+        recorder.subscription.request(3);
+
+        assertFalse(recorder.overlapped);
+        assertEquals(1, recorder.items.size());
+        assertEquals(1, recorder.errors.size());
+        assertFalse(recorder.completed);
+    }
+
+    @Test
+    public void nonPositiveRequestFromAnotherThreadDoesNotOverlapOnNext() throws InterruptedException {
+        CountDownLatch inOnNext = new CountDownLatch(1);
+        CountDownLatch requested = new CountDownLatch(1);
+        Recorder recorder = new Recorder(subscription -> {
+            inOnNext.countDown();
+            await(requested);
+        });
+        RowPublisher.of(mapper, sheet).subscribe(recorder);
+
+        Thread other = new Thread(() -> {
+            await(inOnNext);
+            recorder.subscription.request(0);
+            requested.countDown();
+        });
+        other.start();
+        recorder.subscription.request(3);
+        other.join();
+
+        assertFalse(recorder.overlapped);
+        assertEquals(1, recorder.items.size());
+        assertEquals(1, recorder.errors.size());
+    }
+
+    @Test
+    public void nonPositiveRequestAfterTerminationIsIgnored() {
+        Recorder completed = new Recorder(null);
+        RowPublisher.of(mapper, sheet).subscribe(completed);
+        completed.subscription.request(Long.MAX_VALUE);
+        completed.subscription.request(0);
+        assertTrue(completed.completed);
+        assertTrue(completed.errors.isEmpty());
+
+        Recorder cancelled = new Recorder(null);
+        RowPublisher.of(mapper, sheet).subscribe(cancelled);
+        cancelled.subscription.cancel();
+        cancelled.subscription.request(0);
+        assertTrue(cancelled.errors.isEmpty());
+        assertTrue(cancelled.items.isEmpty());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AssertionError(e);
+        }
+    }
+
+    private static final class Recorder implements Subscriber<Item> {
+
+        private final Consumer<Subscription> onNext;
+        private final AtomicBoolean active = new AtomicBoolean();
+        private final List<Item> items = new ArrayList<>();
+        private final List<Throwable> errors = new ArrayList<>();
+        private volatile Subscription subscription;
+        private volatile boolean completed;
+        private volatile boolean overlapped;
+
+        Recorder(Consumer<Subscription> onNext) {
+            this.onNext = onNext;
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(Item item) {
+            enter();
+            items.add(item);
+            if (onNext != null) {
+                onNext.accept(subscription);
+            }
+            active.set(false);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            enter();
+            errors.add(throwable);
+            active.set(false);
+        }
+
+        @Override
+        public void onComplete() {
+            enter();
+            completed = true;
+            active.set(false);
+        }
+
+        private void enter() {
+            if (!active.compareAndSet(false, true)) {
+                overlapped = true;
+            }
+        }
+    }
+}
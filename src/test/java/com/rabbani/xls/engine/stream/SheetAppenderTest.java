@@ -0,0 +1,180 @@
+package com.rabbani.xls.engine.stream;
+
+import com.rabbani.xls.engine.Mapper;
+import com.rabbani.xls.engine.MapperService;
+import com.rabbani.xls.model.Invoice;
+import com.rabbani.xls.model.Item;
+import com.rabbani.xls.model.Sheets;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+import static org.junit.Assert.*;
+
+public class SheetAppenderTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final Mapper<Item> mapper = MapperService.getInstance().getMapper(Item.class);
+
+    @Test
+    public void appendsAfterTheLastRowInHeaderOrder() throws IOException {
+        Path path = folder.newFile("append.xlsx").toPath();
+        Files.write(path, Sheets.xlsx(
+                new Object[]{"quantity", "no", "name"},
+                new Object[]{1, "A-1", "apple"},
+                null,
+                new Object[]{3, "A-3", "plum"}));
+
+        mapper.append(path, 0, Arrays.asList(item("B-1", "fish & <chips>", 7), item("B-2", null, 8)), null);
+
+        try (InputStream input = Files.newInputStream(path); XSSFWorkbook workbook = new XSSFWorkbook(input)) {
+            Sheet sheet = workbook.getSheetAt(0);
+            assertEquals(5, sheet.getLastRowNum());
+            assertEquals("apple", sheet.getRow(1).getCell(2).getStringCellValue());
+            Row first = sheet.getRow(4);
+            assertEquals(7, first.getCell(0).getNumericCellValue(), 0);
+            assertEquals("B-1", first.getCell(1).getStringCellValue());
+            assertEquals("fish & <chips>", first.getCell(2).getStringCellValue());
+            Row second = sheet.getRow(5);
+            assertEquals(CellType.NUMERIC, second.getCell(0).getCellTypeEnum());
+            assertNull(second.getCell(2));
+        }
+
+        List<Item> items = new ArrayList<>();
+        mapper.stream(path, items::add);
+        assertEquals(4, items.size());
+        assertEquals("B-2", items.get(3).no);
+        assertEquals(8, items.get(3).quantity);
+    }
+
+    @Test
+    public void failedAppendLeavesTheFileUntouched() throws IOException {
+        Path path = folder.newFile("failed.xlsx").toPath();
+        Files.write(path, Sheets.inlineStringXlsx(
+                new Object[]{"no", "quantity"},
+                new Object[]{"A-1", 1}));
+        byte[] before = Files.readAllBytes(path);
+
+        Iterator<Item> failing = new Iterator<Item>() {
+            private int count;
+
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public Item next() {
+                if (++count == 3) {
+                    throw new IllegalStateException("source failed");
+                }
+                return item("B-" + count, null, count);
+            }
+        };
+        try {
+            mapper.append(path, 0, () -> failing, null);
+            fail("expected the source failure");
+        } catch (IllegalStateException e) {
+            assertEquals("source failed", e.getMessage());
+        }
+
+        assertArrayEquals(before, Files.readAllBytes(path));
+    }
+
+    @Test
+    public void closingWithoutCommitLeavesTheFileUntouched() throws IOException {
+        Path path = folder.newFile("uncommitted.xlsx").toPath();
+        Files.write(path, Sheets.xlsx(
+                new Object[]{"no"},
+                new Object[]{"A-1"}));
+        byte[] before = Files.readAllBytes(path);
+
+        try (SheetAppender appender = SheetAppender.open(path)) {
+            assertEquals("no", appender.header().getCell(0).getStringCellValue());
+            assertEquals(1, appender.getLastRowNum());
+            ValueRow row = appender.nextRow();
+            row.createCell(0).setCellValue("B-1");
+            appender.writeRow(row);
+        }
+
+        assertArrayEquals(before, Files.readAllBytes(path));
+    }
+
+    @Test
+    public void markupWithAngleBracketsInCommentsAndAttributesIsSkipped() throws IOException {
+        Path path = folder.newFile("markup.xlsx").toPath();
+        Files.write(path, Sheets.xlsx(
+                new Object[]{"no"},
+                new Object[]{"A-1"}));
+        rewriteSheet(path, xml -> xml
+                .replace("<dimension ref=\"A1:B2\"/>", "<dimension ref=\"A1>B2\"/>")
+                .replace("</sheetData>", "<!-- moved > <row r=\"50\"/> --></sheetData>"));
+
+        mapper.append(path, 0, Collections.singletonList(item("B-1", null, 1)), null);
+
+        try (InputStream input = Files.newInputStream(path); XSSFWorkbook workbook = new XSSFWorkbook(input)) {
+            Sheet sheet = workbook.getSheetAt(0);
+            assertEquals(2, sheet.getLastRowNum());
+            assertEquals("B-1", sheet.getRow(2).getCell(0).getStringCellValue());
+        }
+    }
+
+    @Test
+    public void appendRejectsFormattedColumns() throws IOException {
+        Path path = folder.newFile("formatted.xlsx").toPath();
+        Files.write(path, Sheets.xlsx(new Object[]{"no", "amount"}));
+        byte[] before = Files.readAllBytes(path);
+        Mapper<Invoice> invoices = MapperService.getInstance().getMapper(Invoice.class);
+
+        try {
+            invoices.append(path, 0, Collections.singletonList(new Invoice("I-1", 1)), null);
+            fail("expected UnsupportedOperationException");
+        } catch (UnsupportedOperationException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("@Serialize(format)"));
+        }
+
+        assertArrayEquals(before, Files.readAllBytes(path));
+    }
+
+    private static void rewriteSheet(Path path, UnaryOperator<String> edit) throws IOException {
+        try (FileSystem zip = FileSystems.newFileSystem(URI.create("jar:" + path.toUri()), Collections.<String, Object>emptyMap())) {
+            Path sheet = zip.getPath("xl/worksheets/sheet1.xml");
+            String xml = new String(Files.readAllBytes(sheet), StandardCharsets.UTF_8);
+            String edited = edit.apply(xml);
+            assertNotEquals(xml, edited);
+            try (OutputStream output = Files.newOutputStream(sheet)) {
+                output.write(edited.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+    }
+
+    private static Item item(String no, String name, int quantity) {
+        Item item = new Item();
+        item.no = no;
+        item.name = name;
+        item.quantity = quantity;
+        return item;
+    }
+}
@@ -0,0 +1,109 @@
+package com.rabbani.xls.engine.stream;
+
+import com.rabbani.xls.engine.Mapper;
+import com.rabbani.xls.engine.MapperService;
+import com.rabbani.xls.model.Item;
+import com.rabbani.xls.model.Sheets;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.Row;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class StreamingReaderTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final Mapper<Item> mapper = MapperService.getInstance().getMapper(Item.class);
+
+    @Test
+    public void resolvesHeaderAndSharedStrings() throws IOException {
+        byte[] xlsx = Sheets.xlsx(
+                new Object[]{"price", "no", "name", "quantity"},
+                new Object[]{12.5, "A-1", "apple", 3},
+                new Object[]{7, "A-2", "pear", 4});
+
+        List<Item> items = new ArrayList<>();
+        mapper.stream(new ByteArrayInputStream(xlsx), items::add);
+
+        assertEquals(2, items.size());
+        assertEquals("A-1", items.get(0).no);
+        assertEquals("apple", items.get(0).name);
+        assertEquals(3, items.get(0).quantity);
+        assertEquals(12.5, items.get(0).price, 0);
+        assertEquals("pear", items.get(1).name);
+        assertEquals(7, items.get(1).price, 0);
+    }
+
+    @Test
+    public void readsInlineStringsFromPath() throws IOException {
+        Path path = folder.newFile("inline.xlsx").toPath();
+        Files.write(path, Sheets.inlineStringXlsx(
+                new Object[]{"no", "name", "active"},
+                new Object[]{"B-1", "  padded  ", true}));
+
+        List<Item> items = new ArrayList<>();
+        mapper.stream(path, items::add);
+
+        assertEquals(1, items.size());
+        assertEquals("B-1", items.get(0).no);
+        assertEquals("  padded  ", items.get(0).name);
+        assertEquals(Boolean.TRUE, items.get(0).active);
+    }
+
+    @Test
+    public void keepsColumnIndexesAndRowNumbersOfSparseRows() throws IOException {
+        byte[] xlsx = Sheets.xlsx(
+                new Object[]{"no", "name", "quantity"},
+                new Object[]{"C-1", null, 5},
+                null,
+                new Object[]{null, "gap"});
+
+        try (StreamingReader reader = StreamingReader.open(new ByteArrayInputStream(xlsx))) {
+            reader.next();
+            Row first = reader.next();
+            assertEquals(1, first.getRowNum());
+            assertNull(first.getCell(1));
+            assertEquals(CellType.NUMERIC, first.getCell(2).getCellTypeEnum());
+
+            Row third = reader.next();
+            assertEquals(3, third.getRowNum());
+            assertNull(third.getCell(0));
+            assertEquals("gap", third.getCell(1).getStringCellValue());
+            assertFalse(reader.hasNext());
+        }
+    }
+
+    @Test
+    public void projectionSkipsOtherColumns() throws IOException {
+        byte[] xlsx = Sheets.xlsx(
+                new Object[]{"no", "name", "quantity"},
+                new Object[]{"D-1", "plum", 9});
+
+        List<Item> items = new ArrayList<>();
+        mapper.stream(new ByteArrayInputStream(xlsx), new HashSet<>(Arrays.asList("no", "quantity")), items::add, null);
+
+        assertEquals("D-1", items.get(0).no);
+        assertNull(items.get(0).name);
+        assertEquals(9, items.get(0).quantity);
+    }
+
+    @Test
+    public void emptySheetProducesNothing() throws IOException {
+        List<Item> items = new ArrayList<>();
+        mapper.stream(new ByteArrayInputStream(Sheets.xlsx()), items::add);
+        assertTrue(items.isEmpty());
+    }
+}
@@ -0,0 +1,66 @@
+package com.rabbani.xls.engine.stream;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.FormulaError;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ValueCellTest {
+
+    private final ValueRow row = new ValueRow(0);
+
+    @Test
+    public void exposesTextAsRichText() {
+        Cell cell = row.createCell(0);
+        cell.setCellValue("plain");
+        assertEquals("plain", cell.getRichStringCellValue().getString());
+        assertEquals("", row.createCell(1).getRichStringCellValue().getString());
+    }
+
+    @Test
+    public void convertsValuesToTextLikePoi() {
+        assertEquals("12", converted(12D));
+        assertEquals("0.1", converted(0.1));
+        Cell bool = row.createCell(0);
+        bool.setCellValue(true);
+        bool.setCellType(CellType.STRING);
+        assertEquals("TRUE", bool.getStringCellValue());
+        Cell error = row.createCell(1);
+        error.setCellErrorValue(FormulaError.DIV0.getCode());
+        error.setCellType(CellType.STRING);
+        assertEquals("#DIV/0!", error.getStringCellValue());
+        Cell formula = row.createCell(2);
+        formula.setCellFormula("A1*2");
+        formula.setCellValue(4D);
+        formula.setCellType(CellType.STRING);
+        assertEquals("4", formula.getStringCellValue());
+    }
+
+    @Test
+    public void convertsTextBackToNumbersAndBooleans() {
+        Cell cell = row.createCell(0);
+        cell.setCellValue("2.5");
+        cell.setCellType(CellType.NUMERIC);
+        assertEquals(2.5, cell.getNumericCellValue(), 0);
+        cell.setCellType(CellType.BOOLEAN);
+        assertTrue(cell.getBooleanCellValue());
+
+        Cell text = row.createCell(1);
+        text.setCellValue("abc");
+        try {
+            text.setCellType(CellType.NUMERIC);
+            fail("expected a conversion failure");
+        } catch (IllegalStateException expected) {
+            assertEquals(CellType.STRING, text.getCellTypeEnum());
+        }
+    }
+
+    private String converted(double value) {
+        Cell cell = row.createCell(3);
+        cell.setCellValue(value);
+        cell.setCellType(CellType.STRING);
+        return cell.getStringCellValue();
+    }
+}
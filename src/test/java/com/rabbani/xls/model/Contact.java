@@ -0,0 +1,11 @@
+package com.rabbani.xls.model;
+
+import com.rabbani.xls.annotation.Xls;
+
+@Xls(caseSensitive = false)
+public class Contact {
+
+    public String id;
+
+    public String title;
+}
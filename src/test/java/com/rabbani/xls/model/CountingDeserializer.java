@@ -0,0 +1,20 @@
+package com.rabbani.xls.model;
+
+import com.rabbani.xls.engine.Deserializer;
+import org.apache.poi.ss.usermodel.Cell;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class CountingDeserializer implements Deserializer<String> {
+
+    public static final AtomicInteger CALLS = new AtomicInteger();
+
+    public CountingDeserializer(String param) {
+    }
+
+    @Override
+    public String deserialize(Cell cell) {
+        CALLS.incrementAndGet();
+        return cell == null ? null : cell.getStringCellValue().toUpperCase();
+    }
+}
@@ -0,0 +1,21 @@
+package com.rabbani.xls.model;
+
+import com.rabbani.xls.annotation.Deserialize;
+import com.rabbani.xls.annotation.Serialize;
+import com.rabbani.xls.annotation.Xls;
+
+@Xls
+public class Gauge {
+
+    @Deserialize(TrackingIntDeserializer.class)
+    public int pieces;
+
+    @Deserialize(TrackingIntDeserializer.class)
+    public Integer spare;
+
+    @Serialize(TrackingDoubleSerializer.class)
+    public double weight;
+
+    @Serialize(TrackingDoubleSerializer.class)
+    public Double tare;
+}
@@ -0,0 +1,21 @@
+package com.rabbani.xls.model;
+
+import com.rabbani.xls.annotation.Serialize;
+import com.rabbani.xls.annotation.Xls;
+
+@Xls(columns = {"no", "amount"})
+public class Invoice {
+
+    public String no;
+
+    @Serialize(format = "#,##0.00")
+    public double amount;
+
+    public Invoice() {
+    }
+
+    public Invoice(String no, double amount) {
+        this.no = no;
+        this.amount = amount;
+    }
+}
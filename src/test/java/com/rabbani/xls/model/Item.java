@@ -0,0 +1,16 @@
+package com.rabbani.xls.model;
+
+import com.rabbani.xls.annotation.Xls;
+
+@Xls(columns = {"no", "name", "quantity", "price", "active"})
+public class Item {
+    public String no;
+
+    public String name;
+
+    public int quantity;
+
+    public double price;
+
+    public Boolean active;
+}
@@ -0,0 +1,13 @@
+package com.rabbani.xls.model;
+
+import com.rabbani.xls.annotation.Deserialize;
+import com.rabbani.xls.annotation.Xls;
+
+@Xls(lazyView = true)
+public class Reading {
+
+    @Deserialize(CountingDeserializer.class)
+    public String label;
+
+    public int count;
+}
@@ -0,0 +1,65 @@
+package com.rabbani.xls.model;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+public final class Sheets {
+
+    private Sheets() {
+    }
+
+    public static Sheet sheet(Object[]... rows) {
+        Sheet sheet = new XSSFWorkbook().createSheet();
+        fill(sheet, rows);
+        return sheet;
+    }
+
+    public static byte[] xlsx(Object[]... rows) throws IOException {
+        try (Workbook workbook = new XSSFWorkbook()) {
+            fill(workbook.createSheet(), rows);
+            return bytes(workbook);
+        }
+    }
+
+    public static byte[] inlineStringXlsx(Object[]... rows) throws IOException {
+        SXSSFWorkbook workbook = new SXSSFWorkbook();
+        try {
+            fill(workbook.createSheet(), rows);
+            return bytes(workbook);
+        } finally {
+            workbook.dispose();
+            workbook.close();
+        }
+    }
+
+    public static void fill(Sheet sheet, Object[]... rows) {
+        for (int i = 0; i < rows.length; i++) {
+            if (rows[i] == null) {
+                continue;
+            }
+            Row row = sheet.createRow(i);
+            for (int j = 0; j < rows[i].length; j++) {
+                Object value = rows[i][j];
+                if (value instanceof String) {
+                    row.createCell(j).setCellValue((String) value);
+                } else if (value instanceof Number) {
+                    row.createCell(j).setCellValue(((Number) value).doubleValue());
+                } else if (value instanceof Boolean) {
+                    row.createCell(j).setCellValue((Boolean) value);
+                }
+            }
+        }
+    }
+
+    private static byte[] bytes(Workbook workbook) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        workbook.write(outputStream);
+        return outputStream.toByteArray();
+    }
+}
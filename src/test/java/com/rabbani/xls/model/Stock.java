@@ -0,0 +1,13 @@
+package com.rabbani.xls.model;
+
+import com.rabbani.xls.annotation.Xls;
+
+@Xls
+public class Stock {
+
+    public String no;
+
+    public int quantity = 5;
+
+    public String unit = "pcs";
+}
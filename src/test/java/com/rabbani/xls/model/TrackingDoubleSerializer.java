@@ -0,0 +1,28 @@
+package com.rabbani.xls.model;
+
+import com.rabbani.xls.engine.DoubleSerializer;
+import org.apache.poi.ss.usermodel.Cell;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TrackingDoubleSerializer implements DoubleSerializer {
+
+    public static final AtomicInteger SPECIALIZED = new AtomicInteger();
+
+    public static final AtomicInteger GENERIC = new AtomicInteger();
+
+    public TrackingDoubleSerializer(String param) {
+    }
+
+    @Override
+    public void serializeDouble(double data, Cell cell) {
+        SPECIALIZED.incrementAndGet();
+        cell.setCellValue(data / 2);
+    }
+
+    @Override
+    public void serialize(Double data, Cell cell) {
+        GENERIC.incrementAndGet();
+        DoubleSerializer.super.serialize(data, cell);
+    }
+}
@@ -0,0 +1,28 @@
+package com.rabbani.xls.model;
+
+import com.rabbani.xls.engine.IntDeserializer;
+import org.apache.poi.ss.usermodel.Cell;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TrackingIntDeserializer implements IntDeserializer {
+
+    public static final AtomicInteger SPECIALIZED = new AtomicInteger();
+
+    public static final AtomicInteger GENERIC = new AtomicInteger();
+
+    public TrackingIntDeserializer(String param) {
+    }
+
+    @Override
+    public int deserializeInt(Cell cell) {
+        SPECIALIZED.incrementAndGet();
+        return (int) cell.getNumericCellValue() * 10;
+    }
+
+    @Override
+    public Integer deserialize(Cell cell) {
+        GENERIC.incrementAndGet();
+        return IntDeserializer.super.deserialize(cell);
+    }
+}
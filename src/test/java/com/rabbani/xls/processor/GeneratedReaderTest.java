@@ -0,0 +1,221 @@
+package com.rabbani.xls.processor;
+
+import com.rabbani.xls.engine.ErrorCollector;
+import com.rabbani.xls.engine.Mapper;
+import com.rabbani.xls.engine.MapperService;
+import com.rabbani.xls.model.CountingDeserializer;
+import com.rabbani.xls.model.Gauge;
+import com.rabbani.xls.model.Item;
+import com.rabbani.xls.model.Item___Batch;
+import com.rabbani.xls.model.Reading;
+import com.rabbani.xls.model.Reading___View;
+import com.rabbani.xls.model.Sheets;
+import com.rabbani.xls.model.TrackingDoubleSerializer;
+import com.rabbani.xls.model.TrackingIntDeserializer;
+import com.rabbani.xls.util.NumberUtils;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class GeneratedReaderTest {
+
+    private final Mapper<Item> mapper = MapperService.getInstance().getMapper(Item.class);
+
+    @Test
+    public void dynamicLayoutDispatchesOutOfOrderColumnsWithGapsAndUnknowns() {
+        Sheet sheet = Sheets.sheet(
+                new Object[]{"active", null, "unknown", "price", "no", null, "quantity"},
+                new Object[]{true, "gap", "skip", 2.5, "A-1", "gap", 9});
+
+        Item fromRow = mapper.mapper(sheet.getRow(0)).read(sheet.getRow(1), null);
+        Item fromList = mapper.mapper(Arrays.asList("active", null, "unknown", "price", "no", null, "quantity")).read(sheet.getRow(1), null);
+
+        for (Item item : Arrays.asList(fromRow, fromList)) {
+            assertEquals(Boolean.TRUE, item.active);
+            assertEquals(2.5, item.price, 0);
+            assertEquals("A-1", item.no);
+            assertEquals(9, item.quantity);
+            assertNull(item.name);
+        }
+    }
+
+    @Test
+    public void dynamicLayoutWritesEachFieldToItsHeaderColumn() {
+        Sheet sheet = Sheets.sheet(new Object[]{"quantity", "unknown", "no"});
+        Item item = new Item();
+        item.no = "A-1";
+        item.name = "apple";
+        item.quantity = 4;
+
+        mapper.mapper(sheet.getRow(0)).write(sheet.createRow(1), item, null);
+
+        assertEquals(4, sheet.getRow(1).getCell(0).getNumericCellValue(), 0);
+        assertNull(sheet.getRow(1).getCell(1));
+        assertEquals("A-1", sheet.getRow(1).getCell(2).getStringCellValue());
+        assertEquals(3, sheet.getRow(1).getLastCellNum());
+    }
+
+    @Test
+    public void viewDecodesEachFieldOnceUntilTheNextRow() {
+        Sheet sheet = Sheets.sheet(
+                new Object[]{"count", "label"},
+                new Object[]{3, "a"},
+                new Object[]{4, "b"});
+        Mapper<Reading> readings = MapperService.getInstance().getMapper(Reading.class);
+        Reading___View view = (Reading___View) readings.view(sheet.getRow(0));
+        int calls = CountingDeserializer.CALLS.get();
+
+        view.wrap(sheet.getRow(1));
+        assertEquals(calls, CountingDeserializer.CALLS.get());
+        assertEquals("A", view.getLabel());
+        assertEquals("A", view.getLabel());
+        assertEquals(3, view.getCount());
+        Reading first = view.get();
+        assertEquals(calls + 1, CountingDeserializer.CALLS.get());
+        assertEquals("A", first.label);
+        assertEquals(3, first.count);
+
+        view.wrap(sheet.getRow(2));
+        assertEquals(4, view.getCount());
+        assertEquals("B", view.getLabel());
+        assertEquals(calls + 2, CountingDeserializer.CALLS.get());
+        assertNotSame(first, view.get());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void viewOfAMapperWithoutLazyViewFails() {
+        mapper.view(Sheets.sheet(new Object[]{"no"}).getRow(0));
+    }
+
+    @Test
+    public void primitiveFieldsUseSpecializedConverters() {
+        Sheet sheet = Sheets.sheet(
+                new Object[]{"pieces", "spare"},
+                new Object[]{3, 4});
+        Mapper<Gauge> gauges = MapperService.getInstance().getMapper(Gauge.class);
+        int specialized = TrackingIntDeserializer.SPECIALIZED.get();
+        int generic = TrackingIntDeserializer.GENERIC.get();
+
+        Gauge gauge = gauges.mapper(sheet.getRow(0)).read(sheet.getRow(1), null);
+
+        assertEquals(30, gauge.pieces);
+        assertEquals(Integer.valueOf(40), gauge.spare);
+        assertEquals(specialized + 2, TrackingIntDeserializer.SPECIALIZED.get());
+        assertEquals(generic + 1, TrackingIntDeserializer.GENERIC.get());
+    }
+
+    @Test
+    public void primitiveFieldsWriteThroughSpecializedSerializers() {
+        Sheet sheet = Sheets.sheet(new Object[]{"weight", "tare"});
+        Mapper<Gauge> gauges = MapperService.getInstance().getMapper(Gauge.class);
+        Gauge gauge = new Gauge();
+        gauge.weight = 8;
+        gauge.tare = 6D;
+        int specialized = TrackingDoubleSerializer.SPECIALIZED.get();
+        int generic = TrackingDoubleSerializer.GENERIC.get();
+
+        Row row = sheet.createRow(1);
+        gauges.mapper(sheet.getRow(0)).write(row, gauge, null);
+
+        assertEquals(4, row.getCell(0).getNumericCellValue(), 0);
+        assertEquals(3, row.getCell(1).getNumericCellValue(), 0);
+        assertEquals(specialized + 2, TrackingDoubleSerializer.SPECIALIZED.get());
+        assertEquals(generic + 1, TrackingDoubleSerializer.GENERIC.get());
+    }
+
+    @Test
+    public void integralNumericCellsAreAccepted() {
+        Sheet sheet = Sheets.sheet(
+                new Object[]{"quantity"},
+                new Object[]{12},
+                new Object[]{-2147483648D});
+
+        ErrorCollector errors = new ErrorCollector();
+        Mapper.Instance<Item> instance = mapper.mapper(sheet.getRow(0));
+
+        assertEquals(12, instance.read(sheet.getRow(1), errors).quantity);
+        assertEquals(Integer.MIN_VALUE, instance.read(sheet.getRow(2), errors).quantity);
+        assertTrue(errors.isEmpty());
+    }
+
+    @Test
+    public void fractionalNumericCellIsReportedNotTruncated() {
+        Sheet sheet = Sheets.sheet(
+                new Object[]{"no", "quantity"},
+                new Object[]{"A-1", 12.5});
+
+        ErrorCollector errors = new ErrorCollector();
+        Item item = mapper.mapper(sheet.getRow(0)).read(sheet.getRow(1), errors);
+
+        assertEquals(0, item.quantity);
+        assertEquals("A-1", item.no);
+        assertEquals(1, errors.size());
+        assertEquals("quantity", errors.getColumnName(0));
+        assertEquals(1, errors.getRow(0));
+        assertEquals(NumberUtils.INVALID_FORMAT, errors.getReason(0));
+    }
+
+    @Test
+    public void outOfRangeNumericCellIsReported() {
+        Sheet sheet = Sheets.sheet(
+                new Object[]{"no", "name", "quantity"},
+                new Object[]{"A-1", "apple", 3e10});
+
+        ErrorCollector errors = new ErrorCollector();
+        Item item = mapper.mapper().read(sheet.getRow(1), errors);
+
+        assertEquals(0, item.quantity);
+        assertEquals(1, errors.size());
+        assertEquals(NumberUtils.OUT_OF_RANGE, errors.getReason(0));
+    }
+
+    @Test
+    public void batchReaderReportsFractionalNumericCell() {
+        Sheet sheet = Sheets.sheet(
+                new Object[]{"quantity"},
+                new Object[]{4},
+                new Object[]{4.25});
+
+        ErrorCollector errors = new ErrorCollector();
+        List<int[]> quantities = new ArrayList<>();
+        mapper.readBatch(sheet, 8, batch -> quantities.add(((Item___Batch) batch).quantity.clone()), errors);
+
+        assertEquals(4, quantities.get(0)[0]);
+        assertEquals(0, quantities.get(0)[1]);
+        assertEquals(1, errors.size());
+        assertEquals(2, errors.getRow(0));
+    }
+
+    @Test
+    public void hexTextWithoutExponentIsReportedForDoubleField() {
+        Sheet sheet = Sheets.sheet(
+                new Object[]{"price"},
+                new Object[]{"0x10"},
+                new Object[]{"0x10p0"});
+
+        ErrorCollector errors = new ErrorCollector();
+        Mapper.Instance<Item> instance = mapper.mapper(sheet.getRow(0));
+
+        assertEquals(0, instance.read(sheet.getRow(1), errors).price, 0);
+        assertEquals(16, instance.read(sheet.getRow(2), errors).price, 0);
+        assertEquals(1, errors.size());
+        assertEquals(NumberUtils.INVALID_FORMAT, errors.getReason(0));
+    }
+
+    @Test
+    public void textCellKeepsReportingThroughStatus() {
+        Sheet sheet = Sheets.sheet(
+                new Object[]{"quantity"},
+                new Object[]{"12.5"});
+
+        ErrorCollector errors = new ErrorCollector();
+        assertEquals(0, mapper.mapper(sheet.getRow(0)).read(sheet.getRow(1), errors).quantity);
+        assertEquals(NumberUtils.INVALID_FORMAT, errors.getReason(0));
+    }
+}
@@ -0,0 +1,94 @@
+package com.rabbani.xls.processor;
+
+import com.rabbani.xls.annotation.Xls;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+public class MapperProcessorTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void internCapacityBelowTwoIsACompileError() throws IOException {
+        List<Diagnostic<? extends JavaFileObject>> errors = compile("demo.Country",
+                "package demo;\n"
+                        + "@com.rabbani.xls.annotation.Xls\n"
+                        + "public class Country {\n"
+                        + "    @com.rabbani.xls.annotation.Intern(1)\n"
+                        + "    public String code;\n"
+                        + "}\n");
+
+        assertEquals(1, errors.size());
+        assertTrue(errors.get(0).getMessage(null), errors.get(0).getMessage(null).contains("@Intern capacity must be greater than 1"));
+    }
+
+    @Test
+    public void internCapacityOfTwoCompiles() throws IOException {
+        assertEquals(Collections.emptyList(), compile("demo.Country",
+                "package demo;\n"
+                        + "@com.rabbani.xls.annotation.Xls\n"
+                        + "public class Country {\n"
+                        + "    @com.rabbani.xls.annotation.Intern(2)\n"
+                        + "    public String code;\n"
+                        + "}\n"));
+    }
+
+    private List<Diagnostic<? extends JavaFileObject>> compile(String className, String source) throws IOException {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        File output = folder.newFolder();
+        List<String> options = Arrays.asList(
+                "-classpath", classpath(Xls.class, Cell.class, SXSSFWorkbook.class),
+                "-d", output.getPath(),
+                "-s", output.getPath(),
+                "-source", "1.8",
+                "-target", "1.8",
+                "-Xlint:-options");
+        JavaFileObject file = new SimpleJavaFileObject(URI.create("string:///" + className.replace('.', '/') + ".java"), JavaFileObject.Kind.SOURCE) {
+            @Override
+            public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                return source;
+            }
+        };
+        JavaCompiler.CompilationTask task = compiler.getTask(null, null, diagnostics, options, null, Collections.singletonList(file));
+        task.setProcessors(Collections.singletonList(new MapperProcessor()));
+        task.call();
+        return diagnostics.getDiagnostics().stream()
+                .filter(diagnostic -> diagnostic.getKind() == Diagnostic.Kind.ERROR)
+                .collect(Collectors.toList());
+    }
+
+    private static String classpath(Class<?>... types) {
+        return Arrays.stream(types)
+                .map(type -> {
+                    try {
+                        return new File(type.getProtectionDomain().getCodeSource().getLocation().toURI()).getPath();
+                    } catch (URISyntaxException e) {
+                        throw new IllegalStateException(e);
+                    }
+                })
+                .distinct()
+                .collect(Collectors.joining(File.pathSeparator));
+    }
+}
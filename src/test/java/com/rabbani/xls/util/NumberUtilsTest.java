@@ -0,0 +1,62 @@
+package com.rabbani.xls.util;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class NumberUtilsTest {
+
+    private static final String[] DECIMALS = {
+            "0", "-1", "+1", "1.", ".5", "1.5e10", "1E-3", "2f", "2.5D", " 42 ", "NaN", "-Infinity",
+            "0x1p4", "0X1P-2", "-0x1.8p1", "0x.8p0", "0xAbCp0d", "0x10p+3f",
+            "0x10", "0x1.8", "0x", "0xp1", "0x.p1", "0x1p", "0x1pA", "0xg1p1", "0x1e3",
+            "", " ", "-", ".", "e5", "1e", "1e+", "1.2.3", "1,5", "12abc", "NaNx", "\u0661"
+    };
+
+    @Test
+    public void checkDecimalAgreesWithParseDouble() {
+        for (String text : DECIMALS) {
+            int status = NumberUtils.checkDecimal(text);
+            boolean parsed;
+            try {
+                Double.parseDouble(text);
+                parsed = true;
+            } catch (NumberFormatException e) {
+                parsed = false;
+            }
+            assertEquals(text, parsed, status == NumberUtils.OK);
+        }
+    }
+
+    @Test
+    public void hexWithoutBinaryExponentIsInvalid() {
+        assertEquals(NumberUtils.INVALID_FORMAT, NumberUtils.checkDecimal("0x10"));
+        assertEquals(NumberUtils.OK, NumberUtils.checkDecimal("0x10p0"));
+        assertEquals(NumberUtils.EMPTY, NumberUtils.checkDecimal("  "));
+    }
+
+    @Test
+    public void checkIntegerText() {
+        assertEquals(NumberUtils.OK, NumberUtils.checkInteger("-128", Byte.MIN_VALUE, Byte.MAX_VALUE));
+        assertEquals(NumberUtils.OUT_OF_RANGE, NumberUtils.checkInteger("128", Byte.MIN_VALUE, Byte.MAX_VALUE));
+        assertEquals(NumberUtils.OK, NumberUtils.checkInteger("9223372036854775807", Long.MIN_VALUE, Long.MAX_VALUE));
+        assertEquals(NumberUtils.OUT_OF_RANGE, NumberUtils.checkInteger("-9223372036854775809", Long.MIN_VALUE, Long.MAX_VALUE));
+        assertEquals(NumberUtils.INVALID_FORMAT, NumberUtils.checkInteger("12.0", Integer.MIN_VALUE, Integer.MAX_VALUE));
+        assertEquals(NumberUtils.INVALID_FORMAT, NumberUtils.checkInteger("+", Integer.MIN_VALUE, Integer.MAX_VALUE));
+        assertEquals(NumberUtils.EMPTY, NumberUtils.checkInteger("", Integer.MIN_VALUE, Integer.MAX_VALUE));
+    }
+
+    @Test
+    public void checkIntegerNumeric() {
+        assertEquals(NumberUtils.OK, NumberUtils.checkInteger(12D, Integer.MIN_VALUE, Integer.MAX_VALUE));
+        assertEquals(NumberUtils.OK, NumberUtils.checkInteger(-0D, Integer.MIN_VALUE, Integer.MAX_VALUE));
+        assertEquals(NumberUtils.INVALID_FORMAT, NumberUtils.checkInteger(12.5, Integer.MIN_VALUE, Integer.MAX_VALUE));
+        assertEquals(NumberUtils.INVALID_FORMAT, NumberUtils.checkInteger(Double.NaN, Integer.MIN_VALUE, Integer.MAX_VALUE));
+        assertEquals(NumberUtils.OK, NumberUtils.checkInteger(2147483647D, Integer.MIN_VALUE, Integer.MAX_VALUE));
+        assertEquals(NumberUtils.OUT_OF_RANGE, NumberUtils.checkInteger(2147483648D, Integer.MIN_VALUE, Integer.MAX_VALUE));
+        assertEquals(NumberUtils.OUT_OF_RANGE, NumberUtils.checkInteger(-129D, Byte.MIN_VALUE, Byte.MAX_VALUE));
+        assertEquals(NumberUtils.OK, NumberUtils.checkInteger(-0x1p63, Long.MIN_VALUE, Long.MAX_VALUE));
+        assertEquals(NumberUtils.OUT_OF_RANGE, NumberUtils.checkInteger(0x1p63, Long.MIN_VALUE, Long.MAX_VALUE));
+        assertEquals(NumberUtils.OUT_OF_RANGE, NumberUtils.checkInteger(Double.POSITIVE_INFINITY, Long.MIN_VALUE, Long.MAX_VALUE));
+    }
+}